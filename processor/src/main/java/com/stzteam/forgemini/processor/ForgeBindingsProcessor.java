@@ -0,0 +1,329 @@
+package com.stzteam.forgemini.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * <b>ForgeBindingsProcessor</b>
+ * <p>
+ * Compile-time generator for {@code <Subsystem>_ForgeBindings} classes.
+ * For every class that declares {@code @Signal} methods or {@code @Tunable} fields, it writes a
+ * {@code ForgeBindings} implementation in the same package that reads fields and calls methods
+ * directly. {@code IOSubsystem} loads it on the first cycle instead of scanning with reflection.
+ * </p>
+ * <h3>Rules:</h3>
+ * <ul>
+ * <li>Members must not be {@code private} (the generated class accesses them directly).</li>
+ * <li>{@code @Tunable} fields must not be {@code final}.</li>
+ * <li>{@code @Signal} methods must take no parameters.</li>
+ * <li>{@code @Tunable(onChange = "...")} must name a non-private, no-argument method of the class
+ * (or a superclass); a missing method is a compile error.</li>
+ * </ul>
+ * If a class breaks a rule, a warning is printed and no bindings are generated for it,
+ * so it keeps working through the reflection fallback.
+ */
+@SupportedAnnotationTypes({ForgeBindingsProcessor.SIGNAL, ForgeBindingsProcessor.TUNABLE})
+public class ForgeBindingsProcessor extends AbstractProcessor {
+
+    static final String SIGNAL = "com.stzteam.forgemini.io.Signal";
+    static final String TUNABLE = "com.stzteam.forgemini.io.Tunable";
+
+    private static final String BINDER = "com.stzteam.forgemini.io.ForgeBinder";
+    private static final String BINDINGS = "com.stzteam.forgemini.io.ForgeBindings";
+    private static final String SUFFIX = "_ForgeBindings";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // Collect owners first so each class is generated once, with members in source order
+        Set<TypeElement> owners = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getEnclosingElement() instanceof TypeElement) {
+                    owners.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        for (TypeElement owner : owners) {
+            try {
+                generate(owner);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "[ForgeMini] Could not write bindings: " + e.getMessage(), owner);
+            }
+        }
+        return false;
+    }
+
+    // ============================================================
+    //  GENERATION
+    // ============================================================
+
+    private void generate(TypeElement owner) throws IOException {
+        if (!isReachable(owner)) {
+            warn(owner, "is not accessible from its package; it will use reflection.");
+            return;
+        }
+
+        String pkg = processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(owner).toString();
+        String className = (pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1)) + SUFFIX;
+        String ownerType = processingEnv.getTypeUtils().erasure(owner.asType()).toString();
+
+        List<String> statements = new ArrayList<>();
+        List<String> configs = new ArrayList<>();
+        // onChange callbacks are registered before any tunable that references them
+        Set<String> callbacks = new LinkedHashSet<>();
+        List<String> callbackRefs = new ArrayList<>();
+
+        for (Element member : owner.getEnclosedElements()) {
+            AnnotationMirror signal = find(member, SIGNAL);
+            AnnotationMirror tunable = find(member, TUNABLE);
+            if (signal == null && tunable == null) continue;
+
+            if (member.getModifiers().contains(Modifier.PRIVATE)) {
+                warn(owner, "has private member '" + member.getSimpleName() + "'; it will use reflection.");
+                return;
+            }
+
+            if (signal != null && member.getKind() == ElementKind.METHOD) {
+                ExecutableElement method = (ExecutableElement) member;
+                if (!method.getParameters().isEmpty()) {
+                    warn(owner, "has @Signal method '" + member.getSimpleName() + "' with parameters; it will use reflection.");
+                    return;
+                }
+                String config = "SIGNAL_" + configs.size();
+                String call = signalStatement(method, config);
+                if (call == null) continue; // Unsupported type: ignored, same as the reflection path
+                configs.add(annotationConstant(config, SIGNAL, signal));
+                statements.add(call);
+            }
+
+            if (tunable != null && member.getKind() == ElementKind.FIELD) {
+                VariableElement field = (VariableElement) member;
+                if (field.getModifiers().contains(Modifier.FINAL)) {
+                    warn(owner, "has final @Tunable field '" + member.getSimpleName() + "'; it will use reflection.");
+                    return;
+                }
+                String config = "TUNABLE_" + configs.size();
+                String call = tunableStatement(field, config);
+                if (call == null) continue;
+                String callback = stringValue(tunable, "onChange");
+                if (!callback.isEmpty() && callbacks.add(callback)) {
+                    ExecutableElement method = findCallback(owner, callback);
+                    if (method == null) {
+                        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "[ForgeMini] onChange method '" + callback + "()' not found in " + owner.getSimpleName(), field);
+                        return;
+                    }
+                    if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                        warn(owner, "has private onChange method '" + callback + "'; it will use reflection.");
+                        return;
+                    }
+                    callbackRefs.add(memberRef(method, "::"));
+                }
+                configs.add(annotationConstant(config, TUNABLE, tunable));
+                statements.add(call);
+            }
+        }
+
+        String qualified = pkg.isEmpty() ? className : pkg + "." + className;
+        try (Writer out = processingEnv.getFiler().createSourceFile(qualified, owner).openWriter()) {
+            if (!pkg.isEmpty()) out.write("package " + pkg + ";\n\n");
+            out.write("/**\n * Generated by ForgeMini. Do not edit.\n */\n");
+            out.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+            out.write("@SuppressWarnings({\"all\", \"unchecked\", \"rawtypes\"})\n");
+            out.write("public final class " + className + " implements " + BINDINGS + "<" + ownerType + "> {\n\n");
+            out.write("    public " + className + "() {}\n\n");
+            out.write("    @Override\n");
+            out.write("    public void bind(" + ownerType + " owner, " + BINDER + " binder) {\n");
+            int index = 0;
+            for (String callback : callbacks) {
+                out.write("        binder.tunableCallback(\"" + callback + "\", " + callbackRefs.get(index++) + ");\n");
+            }
+            for (String statement : statements) out.write("        " + statement + "\n");
+            out.write("    }\n");
+            for (String config : configs) out.write("\n" + config);
+            out.write("}\n");
+        }
+    }
+
+    /**
+     * Builds the binder call for a {@code @Signal} method, or {@code null} if its type is not publishable.
+     */
+    private String signalStatement(ExecutableElement method, String config) {
+        String name = method.getSimpleName().toString();
+        TypeMirror type = method.getReturnType();
+        String ref = memberRef(method, "::");
+
+        if (isType(type, TypeKind.DOUBLE, "java.lang.Double")) {
+            return "binder.doubleSignal(\"" + name + "\", " + config + ", " + ref + ");";
+        }
+        if (isType(type, TypeKind.BOOLEAN, "java.lang.Boolean")) {
+            return "binder.booleanSignal(\"" + name + "\", " + config + ", " + ref + ");";
+        }
+        if (type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ARRAY) {
+            String erased = processingEnv.getTypeUtils().erasure(type).toString();
+            return "binder.objectSignal(\"" + name + "\", " + config + ", " + erased + ".class, " + ref + ");";
+        }
+        return null;
+    }
+
+    /**
+     * Builds the binder call for a {@code @Tunable} field, or {@code null} if its type is not tunable.
+     */
+    private String tunableStatement(VariableElement field, String config) {
+        String name = field.getSimpleName().toString();
+        String access = memberRef(field, ".");
+        String prefix = "(\"" + name + "\", " + config + ", ";
+        String getter = "() -> " + access + ", ";
+        TypeMirror type = field.asType();
+
+        switch (type.getKind()) {
+            case DOUBLE:
+                return "binder.doubleTunable" + prefix + getter + "v -> " + access + " = v);";
+            case FLOAT:
+                return "binder.doubleTunable" + prefix + getter + "v -> " + access + " = (float) v);";
+            case BOOLEAN:
+                return "binder.booleanTunable" + prefix + getter + "v -> " + access + " = v);";
+            case LONG:
+                return "binder.longTunable" + prefix + getter + "v -> " + access + " = v);";
+            case INT:
+                return "binder.longTunable" + prefix + getter + "v -> " + access + " = (int) v);";
+            case ARRAY:
+                if (!type.toString().equals("double[]")) return null;
+                return "binder.doubleArrayTunable" + prefix + getter + "v -> " + access + " = v);";
+            case DECLARED:
+                Element element = processingEnv.getTypeUtils().asElement(type);
+                if (element.getKind() == ElementKind.ENUM) {
+                    String erased = processingEnv.getTypeUtils().erasure(type).toString();
+                    return "binder.enumTunable" + prefix + erased + ".class, " + getter + "v -> " + access + " = v);";
+                }
+                if (!type.toString().equals("java.lang.String")) return null;
+                return "binder.stringTunable" + prefix + getter + "v -> " + access + " = v);";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Emits a constant implementing the annotation interface with the exact values of the source
+     * annotation (defaults included), so the runtime reads the same configuration as reflection would.
+     */
+    private String annotationConstant(String constant, String annotationType, AnnotationMirror mirror) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("    private static final ").append(annotationType).append(' ').append(constant)
+          .append(" = new ").append(annotationType).append("() {\n");
+        sb.append("        @Override public Class<? extends java.lang.annotation.Annotation> annotationType() { return ")
+          .append(annotationType).append(".class; }\n");
+
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+            processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        // Iterate the annotation's own methods so the output follows declaration order
+        for (ExecutableElement attribute : ElementFilter.methodsIn(mirror.getAnnotationType().asElement().getEnclosedElements())) {
+            AnnotationValue value = values.get(attribute);
+            if (value == null) continue;
+            TypeMirror returnType = attribute.getReturnType();
+            String literal = value.toString();
+            if (returnType.getKind() == TypeKind.ARRAY) {
+                literal = "new " + returnType + " " + literal;
+            }
+            sb.append("        @Override public ").append(returnType).append(' ')
+              .append(attribute.getSimpleName()).append("() { return ").append(literal).append("; }\n");
+        }
+        sb.append("    };\n");
+        return sb.toString();
+    }
+
+    // ============================================================
+    //  HELPERS
+    // ============================================================
+
+    private static AnnotationMirror find(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Static members are referenced through their class: {@code owner::m} does not compile for them.
+     */
+    private static String memberRef(Element member, String separator) {
+        String qualifier = member.getModifiers().contains(Modifier.STATIC)
+            ? ((TypeElement) member.getEnclosingElement()).getQualifiedName().toString()
+            : "owner";
+        return qualifier + separator + member.getSimpleName();
+    }
+
+    private String stringValue(AnnotationMirror mirror, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) return (String) entry.getValue().getValue();
+        }
+        return "";
+    }
+
+    /**
+     * Finds a no-argument method named {@code name}, declared or inherited by {@code owner}.
+     */
+    private ExecutableElement findCallback(TypeElement owner, String name) {
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(owner))) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().isEmpty()) return method;
+        }
+        return null;
+    }
+
+    private static boolean isType(TypeMirror type, TypeKind primitive, String boxed) {
+        return type.getKind() == primitive || (type.getKind() == TypeKind.DECLARED && type.toString().equals(boxed));
+    }
+
+    /**
+     * A generated top-level class can only reach top-level or non-private member classes.
+     */
+    private static boolean isReachable(TypeElement owner) {
+        Element current = owner;
+        while (current instanceof TypeElement) {
+            TypeElement type = (TypeElement) current;
+            if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) return false;
+            if (type.getModifiers().contains(Modifier.PRIVATE)) return false;
+            current = type.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void warn(TypeElement owner, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+            "[ForgeMini] " + owner.getSimpleName() + " " + message, owner);
+    }
+}
@@ -0,0 +1,502 @@
+package com.stzteam.forgemini;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import com.stzteam.forgemini.io.TelemetryLog;
+
+/**
+ * Log retention engine behind {@link Optimizer}'s disk hygiene.
+ * <p>
+ * Runs on a low-priority, single-thread scheduled executor and only works while the robot is
+ * disabled (except in a disk emergency, see below). Each tick does a bounded amount of I/O:
+ * </p>
+ * <ul>
+ * <li><b>Scan:</b> the log directory is walked with a {@link DirectoryStream}, a few entries per
+ * tick. Attributes are cached per file and only read again for new or recently written files.</li>
+ * <li><b>Retention:</b> at the end of each pass, files are selected for deletion by age, by count
+ * and by total bytes, oldest first.</li>
+ * <li><b>Delete:</b> selected files are deleted a few per tick.</li>
+ * <li><b>Compression (opt-in):</b> closed {@code .wpilog} files are gzipped in small, time-sliced
+ * steps into {@code .wpilog.gz} (same modified time, so retention order is unchanged), then the
+ * original is deleted. A job pauses as soon as the robot enables and resumes where it stopped.
+ * Compressed logs count towards every retention rule like any other log. A partial
+ * {@code .wpilog.gz.tmp} left by a reboot or a crash is deleted by the next scan.</li>
+ * <li><b>Disk watchdog:</b> the usable space of the log file store is sampled every few seconds.
+ * Below the emergency threshold, the janitor keeps working even while enabled and evicts the
+ * oldest logs until there is some headroom again, match logs last.</li>
+ * </ul>
+ * <p>
+ * Never deleted: the newest log of each type (the files WPILib and Phoenix are writing), the file
+ * {@link TelemetryLog} is recording, and, outside emergencies, the last N competition match logs
+ * (WPILib names them {@code ..._Q12.wpilog}: {@code P}ractice, {@code Q}ualification or
+ * {@code E}limination plus the match number).
+ * </p>
+ */
+final class LogJanitor {
+
+    private static final long TICK_MS = 1000;
+    private static final long RESCAN_PERIOD_MS = 30_000;
+    private static final int ENTRIES_PER_TICK = 32;
+    private static final int DELETES_PER_TICK = 4;
+    /** Files written this recently may still be growing: their size is re-read on every pass. */
+    private static final long RECENT_MS = 10 * 60_000;
+    private static final long DISK_SAMPLE_MS = 5000;
+    private static final long EMERGENCY_RESCAN_MS = 5000;
+    /** An emergency eviction frees space up to this multiple of the threshold. */
+    private static final double EMERGENCY_HEADROOM = 1.5;
+    private static final int COMPRESS_CHUNK_BYTES = 64 * 1024;
+    /** CPU time a tick may spend compressing before yielding. */
+    private static final long COMPRESS_SLICE_NANOS = 50_000_000;
+
+    private static final String LOG_GLOB = "*.{wpilog,hres,flog,wpilog.gz,wpilog.gz.tmp}";
+    private static final String COMPRESSED = ".gz";
+    private static final String PARTIAL = COMPRESSED + ".tmp";
+    private static final Pattern MATCH_LOG = Pattern.compile(".*_[PQE]\\d+\\.[A-Za-z.]+$");
+
+    // --- CONFIGURATION (written by the robot thread) ---
+    private static volatile String logDir = "/home/lvuser/logs";
+    private static volatile int maxFiles = 10;
+    private static volatile long maxBytes = 0;          // 0 = no budget
+    private static volatile long maxAgeMs = 0;          // 0 = no limit
+    private static volatile int keepMatches = 5;
+    private static volatile long minFreeBytes = 100L * 1024 * 1024;
+    private static volatile int compressionLevel = -1;  // -1 = disabled
+
+    // --- DISK WATCHDOG ---
+    private static volatile long freeBytes = -1;        // -1 = not sampled yet
+    private static FileStore store;
+    private static String storeDir;
+    private static long nextDiskSampleMs = 0;
+
+    // --- SCAN STATE (janitor thread only) ---
+    private static final HashMap<String, LogFileInfo> cache = new HashMap<>();
+    private static final ArrayDeque<LogFileInfo> pendingDeletes = new ArrayDeque<>();
+    private static DirectoryStream<Path> stream;
+    private static Iterator<Path> entries;
+    private static long nextPassMs = 0;
+
+    // --- COMPRESSION STATE (janitor thread only) ---
+    private static final byte[] compressBuffer = new byte[COMPRESS_CHUNK_BYTES];
+    private static LogFileInfo compressing;
+    private static InputStream compressIn;
+    private static OutputStream compressOut;
+    private static Path compressTemp;
+
+    private static ScheduledExecutorService executor;
+
+    private LogJanitor() {}
+
+    /**
+     * Cached attributes of one log file.
+     */
+    private static final class LogFileInfo {
+        final Path path;
+        final String type;
+        final boolean isMatch;
+        final boolean isCompressed;
+        long size;
+        long modifiedMs;
+        boolean seen;
+
+        LogFileInfo(Path path) {
+            String name = path.getFileName().toString();
+            this.path = path;
+            this.isCompressed = name.endsWith(COMPRESSED);
+            String base = isCompressed ? name.substring(0, name.length() - COMPRESSED.length()) : name;
+            this.type = base.substring(base.lastIndexOf('.') + 1);
+            this.isMatch = MATCH_LOG.matcher(name).matches();
+        }
+    }
+
+    // ============================================================
+    //  CONFIGURATION
+    // ============================================================
+
+    static void setLogDir(String directory) {
+        logDir = directory;
+    }
+
+    static String getLogDir() {
+        return logDir;
+    }
+
+    static void setMaxFiles(int max) {
+        maxFiles = Math.max(1, max);
+    }
+
+    static void setMaxBytes(long bytes) {
+        maxBytes = Math.max(0, bytes);
+    }
+
+    static void setMaxAge(double days) {
+        maxAgeMs = Math.max(0, (long) (days * 24 * 3600 * 1000));
+    }
+
+    static void setKeepMatches(int count) {
+        keepMatches = Math.max(0, count);
+    }
+
+    /**
+     * @param level The Deflater level (0-9), or -1 to disable compression.
+     */
+    static void setCompressionLevel(int level) {
+        compressionLevel = Math.max(-1, Math.min(9, level));
+    }
+
+    static void setMinFreeBytes(long bytes) {
+        minFreeBytes = Math.max(0, bytes);
+    }
+
+    /**
+     * @return The last sampled usable space of the log file store, or -1 if unknown.
+     */
+    static long getFreeBytes() {
+        return freeBytes;
+    }
+
+    /**
+     * Starts the janitor (idempotent).
+     */
+    static synchronized void start() {
+        if (executor != null) return;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ForgeMini-LogJanitor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(LogJanitor::tick, 0, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // ============================================================
+    //  TICK (janitor thread)
+    // ============================================================
+
+    private static void tick() {
+        try {
+            boolean emergency = sampleDisk();
+            if (!emergency && !DriverStation.isDisabled()) {
+                // Never compete with the robot for I/O: drop the pass, restart it when disabled
+                closeScan();
+                return;
+            }
+            if (emergency || compressionLevel < 0) {
+                // Compressing needs room for both files: free space first
+                abortCompression();
+            }
+            if (!pendingDeletes.isEmpty()) {
+                deleteSome();
+                return;
+            }
+            if (compressing != null) {
+                compressSome();
+                return;
+            }
+            scanSome(emergency);
+        } catch (Exception e) {
+            // Keep the executor alive: a failed tick must not cancel future ones
+            System.err.println("[Optimizer] Log maintenance error: " + e.getMessage());
+            closeScan();
+        }
+    }
+
+    /**
+     * Samples the usable disk space at a low rate.
+     * @return True if it is below the emergency threshold.
+     */
+    private static boolean sampleDisk() {
+        long now = System.currentTimeMillis();
+        if (now >= nextDiskSampleMs) {
+            nextDiskSampleMs = now + DISK_SAMPLE_MS;
+            try {
+                String dir = logDir;
+                if (store == null || !dir.equals(storeDir)) {
+                    store = Files.getFileStore(Paths.get(dir));
+                    storeDir = dir;
+                }
+                freeBytes = store.getUsableSpace();
+            } catch (IOException e) {
+                store = null;
+                freeBytes = -1;
+            }
+        }
+        long free = freeBytes;
+        return free >= 0 && free < minFreeBytes;
+    }
+
+    private static void scanSome(boolean emergency) throws IOException {
+        long now = System.currentTimeMillis();
+        if (entries == null) {
+            if (now < nextPassMs) return;
+            Path dir = Paths.get(logDir);
+            if (!Files.isDirectory(dir)) {
+                nextPassMs = now + RESCAN_PERIOD_MS;
+                return;
+            }
+            for (LogFileInfo info : cache.values()) info.seen = false;
+            stream = Files.newDirectoryStream(dir, LOG_GLOB);
+            entries = stream.iterator();
+        }
+
+        for (int i = 0; i < ENTRIES_PER_TICK && entries.hasNext(); i++) {
+            Path path = entries.next();
+            String name = path.getFileName().toString();
+            if (name.endsWith(PARTIAL)) {
+                // Only the running job's output is live; any other one was cut short and never finished
+                if (compressTemp == null || !path.getFileName().equals(compressTemp.getFileName())) deleteStale(path);
+                continue;
+            }
+            LogFileInfo info = cache.get(name);
+            if (info == null) {
+                info = new LogFileInfo(path);
+                cache.put(name, info);
+                readAttributes(info);
+            } else if (now - info.modifiedMs < RECENT_MS) {
+                readAttributes(info);
+            }
+            info.seen = true;
+        }
+
+        if (!entries.hasNext()) {
+            closeScan();
+            cache.values().removeIf(info -> !info.seen);
+            selectDeletions(now);
+            if (emergency) {
+                selectEmergencyDeletions();
+            } else if (pendingDeletes.isEmpty()) {
+                startCompression();
+            }
+            nextPassMs = now + (emergency ? EMERGENCY_RESCAN_MS : RESCAN_PERIOD_MS);
+        }
+    }
+
+    private static void deleteStale(Path path) {
+        try {
+            if (Files.deleteIfExists(path)) {
+                System.out.println("[Optimizer] Deleted partial compressed log: " + path.getFileName());
+            }
+        } catch (IOException e) {
+            System.err.println("[Optimizer] Could not delete " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void readAttributes(LogFileInfo info) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(info.path, BasicFileAttributes.class);
+        info.size = attributes.size();
+        info.modifiedMs = attributes.lastModifiedTime().toMillis();
+    }
+
+    private static void closeScan() {
+        if (stream != null) {
+            try { stream.close(); } catch (IOException ignored) {}
+        }
+        stream = null;
+        entries = null;
+    }
+
+    // ============================================================
+    //  RETENTION
+    // ============================================================
+
+    /**
+     * Applies the age, count and bytes rules (oldest first) and queues the files to delete.
+     */
+    private static void selectDeletions(long now) {
+        List<LogFileInfo> files = sortedFiles();
+
+        List<LogFileInfo> candidates = new ArrayList<>();
+        int matchesKept = 0;
+        for (int i = files.size() - 1; i >= 0; i--) {
+            LogFileInfo info = files.get(i);
+            boolean isProtected = isOpen(info, files, i);
+            if (info.isMatch && matchesKept < keepMatches) {
+                matchesKept++;
+                isProtected = true;
+            }
+            if (!isProtected) candidates.add(0, info);
+        }
+
+        long totalBytes = 0;
+        for (LogFileInfo info : files) totalBytes += info.size;
+        int count = files.size();
+
+        for (LogFileInfo info : candidates) {
+            boolean tooOld = maxAgeMs > 0 && now - info.modifiedMs > maxAgeMs;
+            boolean tooMany = count > maxFiles;
+            boolean tooBig = maxBytes > 0 && totalBytes > maxBytes;
+            if (!tooOld && !tooMany && !tooBig) continue;
+
+            pendingDeletes.add(info);
+            count--;
+            totalBytes -= info.size;
+        }
+    }
+
+    /**
+     * Queues the oldest logs until the expected free space reaches the headroom: regular logs
+     * first, then match logs. Open logs are never queued.
+     */
+    private static void selectEmergencyDeletions() {
+        long free = freeBytes;
+        if (free < 0) return;
+        long target = (long) (minFreeBytes * EMERGENCY_HEADROOM);
+        for (LogFileInfo info : pendingDeletes) free += info.size;
+
+        List<LogFileInfo> files = sortedFiles();
+        for (int pass = 0; pass < 2 && free < target; pass++) {
+            boolean matches = pass == 1;
+            for (int i = 0; i < files.size() && free < target; i++) {
+                LogFileInfo info = files.get(i);
+                if (info.isMatch != matches || isOpen(info, files, i) || pendingDeletes.contains(info)) continue;
+                pendingDeletes.add(info);
+                free += info.size;
+            }
+        }
+        System.err.println("[Optimizer] Disk almost full (" + (freeBytes / 1024 / 1024)
+            + " MB free): evicting " + pendingDeletes.size() + " log(s)");
+    }
+
+    /**
+     * @return The cached files, oldest first.
+     */
+    private static List<LogFileInfo> sortedFiles() {
+        List<LogFileInfo> files = new ArrayList<>(cache.values());
+        files.sort(Comparator.comparingLong((LogFileInfo info) -> info.modifiedMs));
+        return files;
+    }
+
+    /**
+     * @return True if {@code files[index]} may still be written: the newest file of its type,
+     * or the current {@link TelemetryLog} file.
+     */
+    private static boolean isOpen(LogFileInfo info, List<LogFileInfo> files, int index) {
+        if (info.isCompressed) return false;
+        Path recording = TelemetryLog.getFile();
+        if (recording != null && info.path.getFileName().equals(recording.getFileName())) return true;
+        for (int i = index + 1; i < files.size(); i++) {
+            LogFileInfo newer = files.get(i);
+            if (!newer.isCompressed && newer.type.equals(info.type)) return false;
+        }
+        return true;
+    }
+
+    private static void deleteSome() {
+        for (int i = 0; i < DELETES_PER_TICK && !pendingDeletes.isEmpty(); i++) {
+            LogFileInfo info = pendingDeletes.poll();
+            if (info == compressing) abortCompression();
+            try {
+                if (Files.deleteIfExists(info.path)) {
+                    System.out.println("[Optimizer] Deleted old log: " + info.path.getFileName());
+                }
+                cache.remove(info.path.getFileName().toString());
+            } catch (IOException e) {
+                System.err.println("[Optimizer] Could not delete " + info.path.getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // ============================================================
+    //  COMPRESSION
+    // ============================================================
+
+    /**
+     * Starts gzipping the newest closed, uncompressed {@code .wpilog} (if compression is enabled).
+     */
+    private static void startCompression() throws IOException {
+        int level = compressionLevel;
+        if (level < 0) return;
+
+        List<LogFileInfo> files = sortedFiles();
+        for (int i = files.size() - 1; i >= 0; i--) {
+            LogFileInfo info = files.get(i);
+            if (info.isCompressed || !info.type.equals("wpilog") || isOpen(info, files, i)) continue;
+
+            compressTemp = info.path.resolveSibling(info.path.getFileName() + PARTIAL);
+            compressIn = Files.newInputStream(info.path);
+            compressOut = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(compressTemp)), COMPRESS_CHUNK_BYTES) {
+                { def.setLevel(level); }
+            };
+            compressing = info;
+            return;
+        }
+    }
+
+    /**
+     * Compresses chunks for one time slice, stopping early if the robot enables.
+     */
+    private static void compressSome() {
+        long start = System.nanoTime();
+        try {
+            while (System.nanoTime() - start < COMPRESS_SLICE_NANOS) {
+                if (!DriverStation.isDisabled()) return;
+                int read = compressIn.read(compressBuffer);
+                if (read < 0) {
+                    finishCompression();
+                    return;
+                }
+                compressOut.write(compressBuffer, 0, read);
+            }
+        } catch (IOException e) {
+            System.err.println("[Optimizer] Could not compress " + compressing.path.getFileName() + ": " + e.getMessage());
+            abortCompression();
+        }
+    }
+
+    private static void finishCompression() throws IOException {
+        LogFileInfo info = compressing;
+        compressIn.close();
+        compressOut.close();
+        compressIn = null;
+        compressOut = null;
+        compressing = null;
+
+        // Keep the original timestamp: retention sorts by it
+        Path target = info.path.resolveSibling(info.path.getFileName() + COMPRESSED);
+        Files.setLastModifiedTime(compressTemp, FileTime.fromMillis(info.modifiedMs));
+        Files.move(compressTemp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(info.path);
+        cache.remove(info.path.getFileName().toString());
+        System.out.println("[Optimizer] Compressed log: " + target.getFileName()
+            + " (" + (info.size / 1024) + " KB -> " + (Files.size(target) / 1024) + " KB)");
+        compressTemp = null;
+        nextPassMs = 0; // Pick up the .gz and the next candidate
+    }
+
+    /**
+     * Drops the current job and its partial output (the original is untouched).
+     */
+    private static void abortCompression() {
+        if (compressing == null) return;
+        try { compressIn.close(); } catch (IOException ignored) {}
+        try { compressOut.close(); } catch (IOException ignored) {}
+        try { Files.deleteIfExists(compressTemp); } catch (IOException ignored) {}
+        compressing = null;
+        compressIn = null;
+        compressOut = null;
+        compressTemp = null;
+    }
+}
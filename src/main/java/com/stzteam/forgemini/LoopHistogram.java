@@ -0,0 +1,103 @@
+package com.stzteam.forgemini;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size, allocation-free loop-time histogram (HDR-style log-linear buckets).
+ * <p>
+ * Values are recorded in microseconds. Below 128us every microsecond has its own bucket;
+ * above that, each power of two is split into 64 linear sub-buckets, so every reported value
+ * is within ~1.6% of the real one. Values up to ~16.7s are tracked (larger ones are clamped),
+ * using a single preallocated {@code long[]} of 1216 counters.
+ * </p>
+ */
+final class LoopHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;       // 64
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;            // 128
+    private static final int MAX_MSB = 23;                              // 2^24 us = ~16.7s
+    private static final long MAX_VALUE = (1L << (MAX_MSB + 1)) - 1;
+
+    private final long[] counts = new long[LINEAR_LIMIT + (MAX_MSB - SUB_BUCKET_BITS) * SUB_BUCKETS];
+    private long totalCount = 0;
+    private long maxValue = 0;
+
+    /**
+     * Records one sample.
+     * @param micros The value in microseconds.
+     */
+    void record(long micros) {
+        if (micros < 0) micros = 0;
+        if (micros > maxValue) maxValue = micros;
+        counts[indexOf(Math.min(micros, MAX_VALUE))]++;
+        totalCount++;
+    }
+
+    /**
+     * Clears every sample (e.g. on a mode transition).
+     */
+    void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    /**
+     * @return The number of recorded samples.
+     */
+    long count() {
+        return totalCount;
+    }
+
+    /**
+     * @return The exact maximum value recorded since the last reset, in microseconds.
+     */
+    long max() {
+        return maxValue;
+    }
+
+    /**
+     * Computes several percentiles in a single pass over the buckets.
+     * @param percentiles Ascending percentiles (0-100).
+     * @param out Receives the value of each percentile in microseconds (same length).
+     */
+    void percentiles(double[] percentiles, long[] out) {
+        if (totalCount == 0) {
+            Arrays.fill(out, 0);
+            return;
+        }
+
+        int p = 0;
+        long target = targetCount(percentiles[0]);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length && p < percentiles.length; i++) {
+            cumulative += counts[i];
+            while (p < percentiles.length && cumulative >= target) {
+                out[p] = Math.min(highestValueOf(i), maxValue);
+                p++;
+                if (p < percentiles.length) target = targetCount(percentiles[p]);
+            }
+        }
+        for (; p < percentiles.length; p++) out[p] = maxValue;
+    }
+
+    private long targetCount(double percentile) {
+        return Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long lowest = (long) (offset % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
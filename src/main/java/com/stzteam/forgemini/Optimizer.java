@@ -4,11 +4,11 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.livewindow.LiveWindow;
 
-import java.io.File;
-import java.util.Arrays;
-import java.util.Comparator;
-
+import com.stzteam.forgemini.io.ForgeRegistry;
+import com.stzteam.forgemini.io.IOProfiler;
+import com.stzteam.forgemini.io.IOSubsystem;
 import com.stzteam.forgemini.io.NetworkIO;
+import com.stzteam.forgemini.io.TelemetryLog;
 
 /**
  * <b>Optimizer</b>
@@ -20,8 +20,12 @@ import com.stzteam.forgemini.io.NetworkIO;
  * <ul>
  * <li><b>Garbage Collection (GC):</b> Triggers GC only when the robot is disabled and memory is critical, preventing mid-match lag spikes.</li>
  * <li><b>Loop Monitoring:</b> Tracks execution time and logs "Loop Overruns" if the code takes longer than 20ms.</li>
- * <li><b>Disk Hygiene:</b> Automatically deletes old .wpilog and .hres files to prevent disk saturation.</li>
- * <li><b>Telemetry Optimization:</b> Disables LiveWindow to save bandwidth and CPU cycles.</li>
+ * <li><b>Jitter Statistics:</b> Publishes loop-time p50/p95/p99 and max per robot mode from an allocation-free histogram.</li>
+ * <li><b>Disk Hygiene:</b> Deletes old .wpilog, .hres and .flog files by count, age and total size to prevent
+ * disk saturation, in the background and only while disabled. Closed .wpilog files can be gzipped instead.</li>
+ * <li><b>Global Bindings:</b> Runs the {@code ForgeRegistry} tunables and signals once per loop.</li>
+ * <li><b>Telemetry Optimization:</b> Disables LiveWindow to save bandwidth and CPU cycles, and flushes
+ * batched signals once per loop (see {@code NetworkIO.setPublishMode}).</li>
  * </ul>
  */
 public class Optimizer {
@@ -33,14 +37,44 @@ public class Optimizer {
     private static final double GC_COOLDOWN = 5.0; 
     private static double lastGCTime = 0;
 
-    // --- LOG CONFIGURATION ---
-    private static String LOG_DIR = "/home/lvuser/logs"; 
-    private static int MAX_LOG_FILES = 10; 
-    
     private static final String table = "Optimizer";
+
+    // --- PRE-BOUND TOPICS (resolved once, no path building in update()) ---
+    private static final NetworkIO.DoubleHandle loopTimeTopic = NetworkIO.doubleHandle(table, "Sys/LoopTime_ms");
+    private static final NetworkIO.DoubleHandle overrunsTopic = NetworkIO.doubleHandle(table, "Sys/LoopOverruns");
+    private static final NetworkIO.DoubleHandle ramUsageTopic = NetworkIO.doubleHandle(table, "Sys/RAM_Usage_%");
+    private static final NetworkIO.DoubleHandle ramFreeTopic = NetworkIO.doubleHandle(table, "Sys/RAM_Free_MB");
+    private static final NetworkIO.DoubleHandle loopP50Topic = NetworkIO.doubleHandle(table, "Sys/LoopTime_p50_ms");
+    private static final NetworkIO.DoubleHandle loopP95Topic = NetworkIO.doubleHandle(table, "Sys/LoopTime_p95_ms");
+    private static final NetworkIO.DoubleHandle loopP99Topic = NetworkIO.doubleHandle(table, "Sys/LoopTime_p99_ms");
+    private static final NetworkIO.DoubleHandle loopMaxTopic = NetworkIO.doubleHandle(table, "Sys/LoopTime_Max_ms");
+    private static final NetworkIO.DoubleHandle droppedTopic = NetworkIO.doubleHandle(table, "Sys/Telemetry_Dropped");
+    private static final NetworkIO.DoubleHandle deferredTopic = NetworkIO.doubleHandle(table, "Sys/Signals_Deferred");
+    private static final NetworkIO.DoubleHandle logOverflowTopic = NetworkIO.doubleHandle(table, "Sys/Log_Overflows");
+    private static final NetworkIO.DoubleHandle diskFreeTopic = NetworkIO.doubleHandle(table, "Sys/Disk_Free_MB");
     
     // --- METRICS ---
     private static double LOOP_OVERRUN_THRESHOLD = 0.02; // 20ms standard loop
+    /** RAM is sampled once every N calls to update() (50 = ~1Hz on a 20ms loop). */
+    private static int RAM_SAMPLE_CYCLES = 50;
+
+    // Local primitive state: no NetworkTables round-trip to count
+    private static long loopOverruns = 0;
+    private static int ramSampleCounter = 0;
+    /** How many subsystems to report when a loop overruns. */
+    private static int OVERRUN_REPORT_SIZE = 3;
+    /** Minimum number of update() calls between two overrun reports (50 = ~1s on a 20ms loop). */
+    private static final int OVERRUN_REPORT_CYCLES = 50;
+    private static int cyclesSinceReport = OVERRUN_REPORT_CYCLES;
+
+    // --- LOOP STATISTICS ---
+    /** Percentiles are published once every N calls to update(). */
+    private static int LOOP_STATS_CYCLES = 50;
+    private static final LoopHistogram loopHistogram = new LoopHistogram();
+    private static final double[] PERCENTILES = { 50, 95, 99 };
+    private static final long[] percentileValues = new long[PERCENTILES.length];
+    private static int loopStatsCounter = 0;
+    private static int lastMode = -1;
     
     private Optimizer() {
         // Private constructor to prevent instantiation.
@@ -50,7 +84,7 @@ public class Optimizer {
      * Initializes the Optimizer.
      * <p>
      * Call this method <b>ONCE</b> in your {@code Robot.robotInit()} method.
-     * It disables LiveWindow telemetry and starts the background thread for log cleanup.
+     * It disables LiveWindow telemetry and starts the background log retention.
      * </p>
      */
     public static void init() {
@@ -58,8 +92,8 @@ public class Optimizer {
         LiveWindow.disableAllTelemetry();
         System.out.println("[Optimizer] LiveWindow Telemetry disabled.");
     
-        // 2. Clean Disk: Run in a separate thread to avoid slowing down startup
-        new Thread(Optimizer::cleanOldLogs).start();
+        // 2. Clean Disk: Low-priority background janitor, only works while disabled
+        LogJanitor.start();
     }
     
     /**
@@ -67,7 +101,7 @@ public class Optimizer {
      * @param directory The absolute path to the logs folder (default: "/home/lvuser/logs").
      */
     public static void setLogDir(String directory){
-        LOG_DIR = directory;
+        LogJanitor.setLogDir(directory);
     }
 
     /**
@@ -75,7 +109,63 @@ public class Optimizer {
      * @param max The maximum number of files (default: 10).
      */
     public static void setMaxLogs(int max){
-        MAX_LOG_FILES = max;
+        LogJanitor.setMaxFiles(max);
+    }
+
+    /**
+     * Sets the total size budget of the log directory. The oldest files are deleted until it fits.
+     * @param megabytes The budget in MB, or 0 for no budget (default: 0).
+     */
+    public static void setLogBudgetMB(double megabytes){
+        LogJanitor.setMaxBytes((long) (megabytes * 1024 * 1024));
+    }
+
+    /**
+     * Sets the maximum age of a log file. Older files will be deleted.
+     * @param days The maximum age in days, or 0 for no limit (default: 0).
+     */
+    public static void setMaxLogAgeDays(double days){
+        LogJanitor.setMaxAge(days);
+    }
+
+    /**
+     * Sets how many competition match logs are always kept, whatever the other limits say.
+     * <p>
+     * Match logs are recognized by the suffix WPILib adds to their name once the FMS is
+     * connected (e.g. {@code FRC_20240316_183526_NYRO_Q12.wpilog}).
+     * </p>
+     * @param count The number of most recent match logs to keep (default: 5).
+     */
+    public static void setKeepMatchLogs(int count){
+        LogJanitor.setKeepMatches(count);
+    }
+
+    /**
+     * Enables background compression of closed .wpilog files into .wpilog.gz.
+     * <p>
+     * Compression runs on the low-priority log thread only while disabled, in small time slices,
+     * and pauses as soon as the robot enables. Telemetry logs usually shrink 3-10x, so the same
+     * {@link #setLogBudgetMB(double) budget} keeps several times more match history.
+     * AdvantageScope and the WPILib tools need the file decompressed first.
+     * </p>
+     * @param level The Deflater level: 1 (fastest) to 9 (smallest), or -1 to disable (default: -1).
+     */
+    public static void setLogCompression(int level){
+        LogJanitor.setCompressionLevel(level);
+    }
+
+    /**
+     * Sets the free disk space below which logs are evicted as an emergency.
+     * <p>
+     * The usable space of the log directory's file store is sampled every few seconds in the
+     * background and published to {@code Optimizer/Sys/Disk_Free_MB}. Below this threshold, the
+     * oldest logs are deleted even while enabled (never the ones still being written), so a full
+     * disk does not silently stop logging mid-event.
+     * </p>
+     * @param megabytes The threshold in MB, or 0 to disable evictions (default: 100).
+     */
+    public static void setMinFreeDiskMB(double megabytes){
+        LogJanitor.setMinFreeBytes((long) (megabytes * 1024 * 1024));
     }
 
     /**
@@ -86,6 +176,42 @@ public class Optimizer {
         LOOP_OVERRUN_THRESHOLD = loopSeconds;
     }
 
+    /**
+     * Sets how many of the slowest subsystems are reported on a loop overrun.
+     * <p>
+     * The report is published to {@code Optimizer/Sys/SlowestSubsystems} using the
+     * per-phase timings recorded by each {@code IOSubsystem}, at most once per second while the
+     * loop keeps overrunning. Set to 0 to disable.
+     * </p>
+     * @param count The number of subsystems (default: 3).
+     */
+    public static void setOverrunReportSize(int count){
+        OVERRUN_REPORT_SIZE = Math.max(0, count);
+    }
+
+    /**
+     * Sets how often RAM telemetry is sampled and the disabled-mode GC strategy is evaluated.
+     * <p>
+     * Reading {@code Runtime} memory stats is cheap but not free; sampling at ~1Hz is plenty
+     * for a value that changes slowly.
+     * </p>
+     * @param cycles Sample once every N calls to {@link #update(double)} (default: 50).
+     */
+    public static void setRamSampleCycles(int cycles){
+        RAM_SAMPLE_CYCLES = Math.max(1, cycles);
+    }
+
+    /**
+     * Sets how often loop-time percentiles (p50/p95/p99/max) are published.
+     * <p>
+     * Every loop is still recorded; this only controls how often the summary is computed.
+     * </p>
+     * @param cycles Publish once every N calls to {@link #update(double)} (default: 50).
+     */
+    public static void setLoopStatsCycles(int cycles){
+        LOOP_STATS_CYCLES = Math.max(1, cycles);
+    }
+
     /**
      * Updates the performance monitor.
      * <p>
@@ -104,27 +230,104 @@ public class Optimizer {
     public static void update(double loopTimeSeconds) {
         
         // --- 1. PERFORMANCE MONITORING (Loop Time) ---
-        NetworkIO.set(table, "Sys/LoopTime_ms", loopTimeSeconds * 1000);
+        loopTimeTopic.set(loopTimeSeconds * 1000);
+        if (cyclesSinceReport < OVERRUN_REPORT_CYCLES) cyclesSinceReport++;
         
         if (loopTimeSeconds > LOOP_OVERRUN_THRESHOLD) {
-            // Read-Modify-Write the overrun counter
-            double currentOverruns = NetworkIO.get(table, "Sys/LoopOverruns", 0.0);
-            NetworkIO.set(table, "Sys/LoopOverruns", currentOverruns + 1);
+            // Counted locally, published only when it changes
+            loopOverruns++;
+            overrunsTopic.set(loopOverruns);
+
+            // Who caused it? The report builds Strings, so a loop that keeps overrunning
+            // (e.g. a stuck sensor read) only pays for it once per OVERRUN_REPORT_CYCLES
+            if (OVERRUN_REPORT_SIZE > 0 && cyclesSinceReport >= OVERRUN_REPORT_CYCLES) {
+                cyclesSinceReport = 0;
+                NetworkIO.set(table, "Sys/SlowestSubsystems", IOProfiler.describeSlowest(OVERRUN_REPORT_SIZE));
+            }
+        }
+
+        // --- 2. LOOP STATISTICS (Histogram, reset on every mode transition) ---
+        int mode = currentMode();
+        if (mode != lastMode) {
+            loopHistogram.reset();
+            lastMode = mode;
+        }
+        loopHistogram.record((long) (loopTimeSeconds * 1e6));
+
+        if (++loopStatsCounter >= LOOP_STATS_CYCLES) {
+            loopStatsCounter = 0;
+            publishLoopStats();
         }
 
-        // --- 2. MEMORY MANAGEMENT (Disabled Mode Only) ---
+        // --- 3. MEMORY (Changes slowly: sampled at a lower rate) ---
+        if (++ramSampleCounter >= RAM_SAMPLE_CYCLES) {
+            ramSampleCounter = 0;
+            sampleMemory();
+        }
+
+        // --- 4. GLOBAL BINDINGS (ForgeRegistry: constants holders and non-subsystem objects) ---
+        ForgeRegistry.run();
+
+        // --- 5. TELEMETRY FLUSH (Batched mode: one coherent snapshot per loop) ---
+        NetworkIO.flush();
+    }
+
+    /**
+     * Publishes loop-time percentiles and the max since the last mode transition (e.g. since enable).
+     */
+    private static void publishLoopStats() {
+        loopHistogram.percentiles(PERCENTILES, percentileValues);
+        loopP50Topic.set(percentileValues[0] / 1000.0);
+        loopP95Topic.set(percentileValues[1] / 1000.0);
+        loopP99Topic.set(percentileValues[2] / 1000.0);
+        loopMaxTopic.set(loopHistogram.max() / 1000.0);
+    }
+
+    /**
+     * Encodes the robot mode (0 disabled, 1 auto, 2 teleop, 3 test) to detect transitions.
+     */
+    private static int currentMode() {
+        if (DriverStation.isDisabled()) return 0;
+        if (DriverStation.isAutonomous()) return 1;
+        if (DriverStation.isTest()) return 3;
+        return 2;
+    }
+
+    /**
+     * Samples RAM once: runs the GC strategy (disabled only) and publishes RAM telemetry.
+     */
+    private static void sampleMemory() {
+        long totalMem = Runtime.getRuntime().totalMemory();
+        long freeMem = Runtime.getRuntime().freeMemory();
+        double usedRatio = (double) (totalMem - freeMem) / totalMem;
+
+        // Memory Management (Disabled Mode Only)
         if (DriverStation.isDisabled()) {
-            manageMemoryStrategy();
+            manageMemoryStrategy(usedRatio);
+        }
+
+        // RAM Telemetry
+        ramUsageTopic.set(usedRatio * 100);
+        ramFreeTopic.set(freeMem / 1024.0 / 1024.0);
+
+        // Async telemetry backpressure
+        if (NetworkIO.getPublishMode() == NetworkIO.PublishMode.ASYNC) {
+            droppedTopic.set(NetworkIO.getDroppedSamples());
         }
 
-        // --- 3. RAM TELEMETRY ---
-        double totalMem = Runtime.getRuntime().totalMemory();
-        double freeMem = Runtime.getRuntime().freeMemory();
-        double usedMem = totalMem - freeMem;
-        double usedRatio = usedMem / totalMem;
+        // Signals pushed to the next cycle by the signal budget
+        deferredTopic.set(IOSubsystem.getDeferredSignalCount());
+
+        // Disk space (sampled by the log janitor thread)
+        long diskFree = LogJanitor.getFreeBytes();
+        if (diskFree >= 0) {
+            diskFreeTopic.set(diskFree / 1024.0 / 1024.0);
+        }
 
-        NetworkIO.set(table, "Sys/RAM_Usage_%", usedRatio * 100);
-        NetworkIO.set(table, "Sys/RAM_Free_MB", freeMem / 1024.0 / 1024.0);
+        // Disk logger backpressure
+        if (TelemetryLog.isActive()) {
+            logOverflowTopic.set(TelemetryLog.getOverflowCount());
+        }
     }
 
     /**
@@ -135,48 +338,13 @@ public class Optimizer {
      * This forces the "stop-the-world" cleanup to happen while idle, preventing it from happening during a match.
      * </p>
      */
-    private static void manageMemoryStrategy() {
+    private static void manageMemoryStrategy(double usedRatio) {
         double now = Timer.getFPGATimestamp();
 
-        long totalMem = Runtime.getRuntime().totalMemory();
-        long freeMem = Runtime.getRuntime().freeMemory();
-        double usedRatio = (double) (totalMem - freeMem) / totalMem;
-
         if (usedRatio > RAM_USAGE_THRESHOLD && (now - lastGCTime > GC_COOLDOWN)) {
             System.out.println("[Optimizer] Maintenance: Cleaning RAM (Usage: " + (int)(usedRatio*100) + "%)...");
             System.gc(); 
             lastGCTime = now;
         }
     }
-    
-    /**
-     * Janitor logic: Maintains disk hygiene by deleting old logs.
-     * <p>
-     * Scans the log directory for .wpilog and .hres files. If the count exceeds {@code MAX_LOG_FILES},
-     * it deletes the oldest files based on their last modified timestamp.
-     * </p>
-     */
-    private static void cleanOldLogs() {
-        try {
-            File dir = new File(LOG_DIR);
-            if (!dir.exists() || !dir.isDirectory()) return;
-
-            // Filter for WPILib (.wpilog) and Phoenix Flight Recorder (.hres) logs
-            File[] files = dir.listFiles((d, name) -> name.endsWith(".wpilog") || name.endsWith(".hres"));
-            
-            if (files != null && files.length > MAX_LOG_FILES) {
-                // Sort by oldest first
-                Arrays.sort(files, Comparator.comparingLong(File::lastModified));
-
-                int filesToDelete = files.length - MAX_LOG_FILES;
-                for (int i = 0; i < filesToDelete; i++) {
-                    if (files[i].delete()) {
-                        System.out.println("[Optimizer] Deleted old log: " + files[i].getName());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("[Optimizer] Error cleaning logs: " + e.getMessage());
-        }
-    }
 }
\ No newline at end of file
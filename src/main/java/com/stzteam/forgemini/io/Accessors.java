@@ -0,0 +1,318 @@
+package com.stzteam.forgemini.io;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Accessor Factory.
+ * <p>
+ * Turns annotated members into typed, non-reflective functional interfaces
+ * ({@link DoubleSupplier}, {@link BooleanSupplier}, {@link Supplier}) <b>once</b>, at registration.
+ * Each accessor is spun by {@link LambdaMetafactory}, so the per-cycle call is a plain
+ * interface call that the JIT can inline, with no {@code Method.invoke} and no boxing for primitives.
+ * </p>
+ * <p>
+ * If the metafactory rejects a target (e.g. a module boundary), the accessor falls back to a
+ * bound {@link MethodHandle} adapted to the exact primitive type, which still avoids boxing.
+ * </p>
+ */
+final class Accessors {
+
+    private Accessors() {}
+
+    /**
+     * Builds a {@link DoubleSupplier} for a method returning {@code double} or {@code Double}.
+     * @param target The instance that owns the method.
+     * @param method The getter method.
+     * @return A non-reflective accessor.
+     * @throws ReflectiveOperationException If the method cannot be accessed.
+     */
+    static DoubleSupplier doubleGetter(Object target, Method method) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = lookupFor(method);
+        MethodHandle handle = lookup.unreflect(method);
+        try {
+            return (DoubleSupplier) spin(lookup, handle, target, method, DoubleSupplier.class,
+                "getAsDouble", MethodType.methodType(double.class), MethodType.methodType(double.class));
+        } catch (Throwable e) {
+            MethodHandle bound = bind(handle, target, method).asType(MethodType.methodType(double.class));
+            return () -> {
+                try { return (double) bound.invokeExact(); }
+                catch (Throwable t) { throw sneakyThrow(t); }
+            };
+        }
+    }
+
+    /**
+     * Builds a {@link BooleanSupplier} for a method returning {@code boolean} or {@code Boolean}.
+     * @param target The instance that owns the method.
+     * @param method The getter method.
+     * @return A non-reflective accessor.
+     * @throws ReflectiveOperationException If the method cannot be accessed.
+     */
+    static BooleanSupplier booleanGetter(Object target, Method method) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = lookupFor(method);
+        MethodHandle handle = lookup.unreflect(method);
+        try {
+            return (BooleanSupplier) spin(lookup, handle, target, method, BooleanSupplier.class,
+                "getAsBoolean", MethodType.methodType(boolean.class), MethodType.methodType(boolean.class));
+        } catch (Throwable e) {
+            MethodHandle bound = bind(handle, target, method).asType(MethodType.methodType(boolean.class));
+            return () -> {
+                try { return (boolean) bound.invokeExact(); }
+                catch (Throwable t) { throw sneakyThrow(t); }
+            };
+        }
+    }
+
+    /**
+     * Builds a {@link Supplier} for a method returning a reference type (String, structs...).
+     * @param target The instance that owns the method.
+     * @param method The getter method.
+     * @return A non-reflective accessor.
+     * @throws ReflectiveOperationException If the method cannot be accessed.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> objectGetter(Object target, Method method) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = lookupFor(method);
+        MethodHandle handle = lookup.unreflect(method);
+        try {
+            return (Supplier<T>) spin(lookup, handle, target, method, Supplier.class,
+                "get", MethodType.methodType(Object.class), MethodType.methodType(method.getReturnType()));
+        } catch (Throwable e) {
+            MethodHandle bound = bind(handle, target, method).asType(MethodType.methodType(Object.class));
+            return () -> {
+                try { return (T) bound.invokeExact(); }
+                catch (Throwable t) { throw sneakyThrow(t); }
+            };
+        }
+    }
+
+    /**
+     * Builds a {@link Runnable} for a no-argument method (its return value, if any, is discarded).
+     * @param target The instance that owns the method.
+     * @param method The method.
+     * @return A non-reflective accessor.
+     * @throws ReflectiveOperationException If the method cannot be accessed.
+     */
+    static Runnable runnable(Object target, Method method) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = lookupFor(method);
+        MethodHandle handle = lookup.unreflect(method);
+        try {
+            return (Runnable) spin(lookup, handle, target, method, Runnable.class,
+                "run", MethodType.methodType(void.class), MethodType.methodType(void.class));
+        } catch (Throwable e) {
+            MethodHandle bound = bind(handle, target, method).asType(MethodType.methodType(void.class));
+            return () -> {
+                try { bound.invokeExact(); }
+                catch (Throwable t) { throw sneakyThrow(t); }
+            };
+        }
+    }
+
+    // ============================================================
+    //  FIELD ACCESSORS
+    // ============================================================
+
+    /**
+     * Builds a getter for a {@code double} field.
+     * <p>
+     * Field handles cannot go through the metafactory, so this uses a bound
+     * {@link MethodHandle} with an exact {@code ()double} type (no boxing).
+     * </p>
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective getter.
+     * @throws ReflectiveOperationException If the field cannot be accessed.
+     */
+    static DoubleSupplier doubleFieldGetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle getter = bind(lookupFor(field).unreflectGetter(field), target, field)
+            .asType(MethodType.methodType(double.class));
+        return () -> {
+            try { return (double) getter.invokeExact(); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a setter for a {@code double} or {@code float} field (narrowed like a cast).
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective setter.
+     * @throws ReflectiveOperationException If the field cannot be accessed (e.g. it is final).
+     */
+    static DoubleConsumer doubleFieldSetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle setter = MethodHandles.explicitCastArguments(
+            bind(lookupFor(field).unreflectSetter(field), target, field),
+            MethodType.methodType(void.class, double.class));
+        return value -> {
+            try { setter.invokeExact(value); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a getter for a {@code boolean} field.
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective getter.
+     * @throws ReflectiveOperationException If the field cannot be accessed.
+     */
+    static BooleanSupplier booleanFieldGetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle getter = bind(lookupFor(field).unreflectGetter(field), target, field)
+            .asType(MethodType.methodType(boolean.class));
+        return () -> {
+            try { return (boolean) getter.invokeExact(); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a setter for a {@code boolean} field.
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective setter.
+     * @throws ReflectiveOperationException If the field cannot be accessed (e.g. it is final).
+     */
+    static ForgeBinder.BooleanConsumer booleanFieldSetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle setter = bind(lookupFor(field).unreflectSetter(field), target, field)
+            .asType(MethodType.methodType(void.class, boolean.class));
+        return value -> {
+            try { setter.invokeExact(value); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a getter for an {@code int} or {@code long} field.
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective getter.
+     * @throws ReflectiveOperationException If the field cannot be accessed.
+     */
+    static LongSupplier longFieldGetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle getter = bind(lookupFor(field).unreflectGetter(field), target, field)
+            .asType(MethodType.methodType(long.class));
+        return () -> {
+            try { return (long) getter.invokeExact(); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a setter for an {@code int} or {@code long} field (narrowed like a cast).
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective setter.
+     * @throws ReflectiveOperationException If the field cannot be accessed (e.g. it is final).
+     */
+    static LongConsumer longFieldSetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle setter = MethodHandles.explicitCastArguments(
+            bind(lookupFor(field).unreflectSetter(field), target, field),
+            MethodType.methodType(void.class, long.class));
+        return value -> {
+            try { setter.invokeExact(value); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a getter for a reference-typed field (String, enum, arrays...).
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective getter.
+     * @throws ReflectiveOperationException If the field cannot be accessed.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> objectFieldGetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle getter = bind(lookupFor(field).unreflectGetter(field), target, field)
+            .asType(MethodType.methodType(Object.class));
+        return () -> {
+            try { return (T) getter.invokeExact(); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds a setter for a reference-typed field.
+     * @param target The instance that owns the field.
+     * @param field The field.
+     * @return A non-reflective setter.
+     * @throws ReflectiveOperationException If the field cannot be accessed (e.g. it is final).
+     */
+    static <T> Consumer<T> objectFieldSetter(Object target, Field field) throws ReflectiveOperationException {
+        MethodHandle setter = bind(lookupFor(field).unreflectSetter(field), target, field)
+            .asType(MethodType.methodType(void.class, Object.class));
+        return value -> {
+            try { setter.invokeExact((Object) value); }
+            catch (Throwable t) { throw sneakyThrow(t); }
+        };
+    }
+
+    /**
+     * Builds an unbound getter for an instance field, adapted to {@code (Object)type}.
+     * <p>
+     * Used by plans that read the same field from many instances; call it with
+     * {@code invokeExact} and a cast to {@code type} (widening primitives is allowed,
+     * e.g. an {@code int} field read as {@code long}).
+     * </p>
+     * @param field The field.
+     * @param type The exact return type of the handle.
+     * @return The getter handle.
+     * @throws ReflectiveOperationException If the field cannot be accessed.
+     */
+    static MethodHandle instanceFieldGetter(Field field, Class<?> type) throws ReflectiveOperationException {
+        return lookupFor(field).unreflectGetter(field).asType(MethodType.methodType(type, Object.class));
+    }
+
+    // ============================================================
+    //  INTERNALS
+    // ============================================================
+
+    /**
+     * Gets a lookup with private access to the class that declares the member.
+     */
+    private static MethodHandles.Lookup lookupFor(Member member) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(member.getDeclaringClass(), MethodHandles.lookup());
+    }
+
+    /**
+     * Spins a lambda class implementing {@code iface} and captures {@code target} as the receiver.
+     */
+    private static Object spin(MethodHandles.Lookup lookup, MethodHandle handle, Object target, Method method,
+                               Class<?> iface, String samName, MethodType samType, MethodType instantiatedType) throws Throwable {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        MethodType factoryType = isStatic
+            ? MethodType.methodType(iface)
+            : MethodType.methodType(iface, method.getDeclaringClass());
+
+        CallSite site = LambdaMetafactory.metafactory(lookup, samName, factoryType, samType, handle, instantiatedType);
+        return isStatic ? site.getTarget().invoke() : site.getTarget().invoke(target);
+    }
+
+    private static MethodHandle bind(MethodHandle handle, Object target, Member member) {
+        return Modifier.isStatic(member.getModifiers()) ? handle : handle.bindTo(target);
+    }
+
+    /**
+     * Rethrows anything the user method throws without wrapping it, so the task's
+     * own {@code catch} sees the original exception.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneakyThrow(Throwable t) throws E {
+        throw (E) t;
+    }
+}
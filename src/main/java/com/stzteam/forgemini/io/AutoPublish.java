@@ -5,6 +5,22 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks an IO inputs class for automatic publishing.
+ * <p>
+ * Every public, non-static field is published by {@link NetworkIO#processInputs(String, String, Object)}
+ * through a plan compiled once per class: typed field handles and pre-resolved topics,
+ * so the per-cycle call does no reflection and does not box primitive fields.
+ * </p>
+ * <pre>
+ * {@literal @}AutoPublish
+ * public class ShooterInputs {
+ *     public double rpm;
+ *     public int faults;
+ *     public Pose2d pose;
+ * }
+ * </pre>
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface AutoPublish {
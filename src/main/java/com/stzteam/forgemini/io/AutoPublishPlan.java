@@ -0,0 +1,194 @@
+package com.stzteam.forgemini.io;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-compiled publishing plan for {@link AutoPublish} classes.
+ * <p>
+ * Built <b>once per class</b>: every public, non-static field gets a typed getter
+ * {@link MethodHandle} and a publishing kind. Each {@code (rootTable, subTable)} pair then resolves
+ * its topic handles once, so {@link NetworkIO#processInputs(String, String, Object)} runs
+ * without reflection, without boxing primitive fields and without building path Strings.
+ * </p>
+ * <p>
+ * Primitive fields are published natively: {@code double}/{@code float} as doubles,
+ * {@code int}/{@code long}/{@code short}/{@code byte} as integers. Their wrapper types use the same
+ * handles (a {@code null} wrapper is skipped). Other {@code java.*} reference fields (besides
+ * {@code String}) are not planned: they go through the generic
+ * {@link NetworkIO#set(String, String, Object)}, which builds the path on every call.
+ * </p>
+ * <p>
+ * A field whose getter fails is reported once per path, then skipped silently.
+ * </p>
+ */
+final class AutoPublishPlan {
+
+    private enum Kind { DOUBLE, LONG, BOOLEAN, BOXED_DOUBLE, BOXED_LONG, BOXED_BOOLEAN, STRING, STRUCT, ARRAY, OBJECT }
+
+    /** Marks classes without {@link AutoPublish}. */
+    private static final AutoPublishPlan NONE = new AutoPublishPlan(new String[0], new Kind[0], new MethodHandle[0]);
+
+    private static final ClassValue<AutoPublishPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected AutoPublishPlan computeValue(Class<?> type) {
+            return type.isAnnotationPresent(AutoPublish.class) ? build(type) : NONE;
+        }
+    };
+
+    // Root table -> sub table -> resolved handles
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, Bound>> bound = new ConcurrentHashMap<>();
+
+    private final String[] keys;
+    private final Kind[] kinds;
+    private final MethodHandle[] getters;
+
+    private AutoPublishPlan(String[] keys, Kind[] kinds, MethodHandle[] getters) {
+        this.keys = keys;
+        this.kinds = kinds;
+        this.getters = getters;
+    }
+
+    /**
+     * Publishes {@code inputs} through its plan.
+     * @return False if the class is not annotated with {@link AutoPublish} (nothing was published).
+     */
+    static boolean publish(String rootTable, String subTable, Object inputs) {
+        AutoPublishPlan plan = PLANS.get(inputs.getClass());
+        if (plan == NONE) return false;
+
+        // Plain get() first: computeIfAbsent would allocate a capturing lambda on every call
+        ConcurrentHashMap<String, Bound> subs = bound.get(rootTable);
+        if (subs == null) subs = bound.computeIfAbsent(rootTable, k -> new ConcurrentHashMap<>());
+        Bound target = subs.get(subTable);
+        if (target == null || target.plan != plan) {
+            target = new Bound(plan, rootTable + "/" + subTable);
+            subs.put(subTable, target);
+        }
+
+        target.publish(inputs);
+        return true;
+    }
+
+    /**
+     * Drops the resolved handles under a path prefix (called by {@link NetworkIO#closeAll(String)}).
+     */
+    static void forget(String prefix) {
+        for (ConcurrentHashMap<String, Bound> subs : bound.values()) {
+            subs.values().removeIf(b -> (b.basePath + "/").startsWith(prefix));
+        }
+    }
+
+    private static AutoPublishPlan build(Class<?> type) {
+        List<String> keys = new ArrayList<>();
+        List<Kind> kinds = new ArrayList<>();
+        List<MethodHandle> getters = new ArrayList<>();
+
+        for (Field field : type.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue;
+
+            Class<?> fieldType = field.getType();
+            Kind kind = kindOf(fieldType);
+            Class<?> handleType = switch (kind) {
+                case DOUBLE -> double.class;
+                case LONG -> long.class;
+                case BOOLEAN -> boolean.class;
+                default -> Object.class;
+            };
+
+            try {
+                getters.add(Accessors.instanceFieldGetter(field, handleType));
+                keys.add(field.getName());
+                kinds.add(kind);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.err.println("[NetworkIO] Cannot read field '" + field.getName() + "' of "
+                    + type.getSimpleName() + ", it will not be published: " + e);
+            }
+        }
+
+        return new AutoPublishPlan(keys.toArray(new String[0]), kinds.toArray(new Kind[0]),
+            getters.toArray(new MethodHandle[0]));
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (type == double.class || type == float.class) return Kind.DOUBLE;
+        if (type == int.class || type == long.class || type == short.class || type == byte.class) return Kind.LONG;
+        if (type == boolean.class) return Kind.BOOLEAN;
+        if (type == Double.class || type == Float.class) return Kind.BOXED_DOUBLE;
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) return Kind.BOXED_LONG;
+        if (type == Boolean.class) return Kind.BOXED_BOOLEAN;
+        if (type == String.class) return Kind.STRING;
+        if (type.isArray()) return Kind.ARRAY;
+        if (type.isPrimitive() || type.getName().startsWith("java.")) return Kind.OBJECT;
+        return Kind.STRUCT;
+    }
+
+    /**
+     * A plan bound to one {@code rootTable/subTable} path.
+     */
+    private static final class Bound {
+        final AutoPublishPlan plan;
+        final String basePath;
+        final Object[] handles;
+        final boolean[] reported; // Failing fields already logged
+
+        Bound(AutoPublishPlan plan, String basePath) {
+            this.plan = plan;
+            this.basePath = basePath;
+            this.handles = new Object[plan.keys.length];
+            this.reported = new boolean[plan.keys.length];
+            for (int i = 0; i < handles.length; i++) {
+                String key = plan.keys[i];
+                handles[i] = switch (plan.kinds[i]) {
+                    case DOUBLE, BOXED_DOUBLE -> NetworkIO.doubleHandle(basePath, key);
+                    case LONG, BOXED_LONG -> NetworkIO.integerHandle(basePath, key);
+                    case BOOLEAN, BOXED_BOOLEAN -> NetworkIO.booleanHandle(basePath, key);
+                    case STRING -> NetworkIO.stringHandle(basePath, key);
+                    case STRUCT -> NetworkIO.structHandle(basePath, key);
+                    case ARRAY -> NetworkIO.arrayHandle(basePath, key);
+                    case OBJECT -> null;
+                };
+            }
+        }
+
+        void publish(Object inputs) {
+            Kind[] kinds = plan.kinds;
+            MethodHandle[] getters = plan.getters;
+            for (int i = 0; i < kinds.length; i++) {
+                try {
+                    switch (kinds[i]) {
+                        case DOUBLE -> ((NetworkIO.DoubleHandle) handles[i]).set((double) getters[i].invokeExact(inputs));
+                        case LONG -> ((NetworkIO.IntegerHandle) handles[i]).set((long) getters[i].invokeExact(inputs));
+                        case BOOLEAN -> ((NetworkIO.BooleanHandle) handles[i]).set((boolean) getters[i].invokeExact(inputs));
+                        case BOXED_DOUBLE -> {
+                            Number value = (Number) (Object) getters[i].invokeExact(inputs);
+                            if (value != null) ((NetworkIO.DoubleHandle) handles[i]).set(value.doubleValue());
+                        }
+                        case BOXED_LONG -> {
+                            Number value = (Number) (Object) getters[i].invokeExact(inputs);
+                            if (value != null) ((NetworkIO.IntegerHandle) handles[i]).set(value.longValue());
+                        }
+                        case BOXED_BOOLEAN -> {
+                            Boolean value = (Boolean) (Object) getters[i].invokeExact(inputs);
+                            if (value != null) ((NetworkIO.BooleanHandle) handles[i]).set(value.booleanValue());
+                        }
+                        case STRING -> ((NetworkIO.StringHandle) handles[i]).set((String) (Object) getters[i].invokeExact(inputs));
+                        case STRUCT -> ((NetworkIO.StructHandle) handles[i]).set((Object) getters[i].invokeExact(inputs));
+                        case ARRAY -> ((NetworkIO.ArrayHandle) handles[i]).set((Object) getters[i].invokeExact(inputs));
+                        case OBJECT -> NetworkIO.set(basePath, plan.keys[i], (Object) getters[i].invokeExact(inputs));
+                    }
+                } catch (Throwable e) {
+                    if (!reported[i]) {
+                        reported[i] = true;
+                        System.err.println("[NetworkIO] Cannot publish field '" + plan.keys[i] + "' of "
+                            + basePath + ": " + e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.stzteam.forgemini.io;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registration sink for {@link Signal} and {@link Tunable} members.
+ * <p>
+ * Generated {@code <Subsystem>_ForgeBindings} classes call these methods with direct,
+ * typed accessors. The reflection fallback inside {@link IOSubsystem} builds the same
+ * accessors and calls the same methods, so both paths compile identical tasks.
+ * </p>
+ * <p>
+ * You normally never implement or call this interface yourself.
+ * </p>
+ */
+public interface ForgeBinder {
+
+    /**
+     * Registers a {@code double} / {@code Double} signal.
+     * @param name The member name (used as key when {@link Signal#key()} is empty).
+     * @param config The signal configuration.
+     * @param getter Reads the current value.
+     */
+    void doubleSignal(String name, Signal config, DoubleSupplier getter);
+
+    /**
+     * Registers a {@code boolean} / {@code Boolean} signal.
+     * @param name The member name (used as key when {@link Signal#key()} is empty).
+     * @param config The signal configuration.
+     * @param getter Reads the current value.
+     */
+    void booleanSignal(String name, Signal config, BooleanSupplier getter);
+
+    /**
+     * Registers a reference-typed signal ({@code String} or a type with a {@code struct}).
+     * @param name The member name (used as key when {@link Signal#key()} is empty).
+     * @param config The signal configuration.
+     * @param type The declared return type of the member.
+     * @param getter Reads the current value.
+     */
+    void objectSignal(String name, Signal config, Class<?> type, Supplier<?> getter);
+
+    /**
+     * Registers a method named by {@link Tunable#onChange()}.
+     * <p>
+     * Called before the tunables that reference it.
+     * </p>
+     * @param name The method name.
+     * @param action Calls the method.
+     */
+    void tunableCallback(String name, Runnable action);
+
+    /**
+     * Registers a {@code double} or {@code float} tunable field.
+     * @param name The field name (used as key when {@link Tunable#key()} is empty).
+     * @param config The tunable configuration.
+     * @param getter Reads the field.
+     * @param setter Writes the field.
+     */
+    void doubleTunable(String name, Tunable config, DoubleSupplier getter, DoubleConsumer setter);
+
+    /**
+     * Registers a {@code boolean} tunable field.
+     * @param name The field name (used as key when {@link Tunable#key()} is empty).
+     * @param config The tunable configuration.
+     * @param getter Reads the field.
+     * @param setter Writes the field.
+     */
+    void booleanTunable(String name, Tunable config, BooleanSupplier getter, BooleanConsumer setter);
+
+    /**
+     * Registers an {@code int} or {@code long} tunable field (an integer topic).
+     * @param name The field name (used as key when {@link Tunable#key()} is empty).
+     * @param config The tunable configuration.
+     * @param getter Reads the field.
+     * @param setter Writes the field (narrowing to {@code int} if needed).
+     */
+    void longTunable(String name, Tunable config, LongSupplier getter, LongConsumer setter);
+
+    /**
+     * Registers a {@code String} tunable field.
+     * @param name The field name (used as key when {@link Tunable#key()} is empty).
+     * @param config The tunable configuration.
+     * @param getter Reads the field.
+     * @param setter Writes the field.
+     */
+    void stringTunable(String name, Tunable config, Supplier<String> getter, Consumer<String> setter);
+
+    /**
+     * Registers an enum tunable field (a string topic holding the constant's name).
+     * @param <E> The enum type.
+     * @param name The field name (used as key when {@link Tunable#key()} is empty).
+     * @param config The tunable configuration.
+     * @param type The enum class.
+     * @param getter Reads the field.
+     * @param setter Writes the field.
+     */
+    <E extends Enum<E>> void enumTunable(String name, Tunable config, Class<E> type, Supplier<E> getter, Consumer<E> setter);
+
+    /**
+     * Registers a {@code double[]} tunable field.
+     * @param name The field name (used as key when {@link Tunable#key()} is empty).
+     * @param config The tunable configuration.
+     * @param getter Reads the field.
+     * @param setter Writes the field (with a new array on every change).
+     */
+    void doubleArrayTunable(String name, Tunable config, Supplier<double[]> getter, Consumer<double[]> setter);
+
+    /**
+     * Primitive {@code boolean} consumer (the JDK does not ship one).
+     */
+    @FunctionalInterface
+    interface BooleanConsumer {
+        /**
+         * Accepts a value.
+         * @param value The value.
+         */
+        void accept(boolean value);
+    }
+}
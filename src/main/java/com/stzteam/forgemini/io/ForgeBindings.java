@@ -0,0 +1,30 @@
+package com.stzteam.forgemini.io;
+
+/**
+ * Compile-time bindings for a class with {@link Signal} / {@link Tunable} members.
+ * <p>
+ * Implementations are generated by the {@code ForgeMini-processor} annotation processor
+ * as {@code <Subsystem>_ForgeBindings}, next to the subsystem. They access fields and call
+ * methods directly, so {@link IOSubsystem} can register everything on the first cycle
+ * without scanning {@code getDeclaredMethods()} / {@code getDeclaredFields()}.
+ * If no generated class is found, {@link IOSubsystem} falls back to reflection.
+ * </p>
+ * <h3>Setup (robot project build.gradle):</h3>
+ * <pre>
+ * annotationProcessor 'com.stzteam.forgemini:ForgeMini-processor:1.1.1'
+ * </pre>
+ * <p>
+ * Note: members must not be {@code private} for bindings to be generated, since the generated
+ * class lives in the same package and accesses them directly.
+ * </p>
+ * @param <T> The bound class.
+ */
+public interface ForgeBindings<T> {
+
+    /**
+     * Registers every annotated member of {@code owner} into {@code binder}.
+     * @param owner The instance whose members are bound.
+     * @param binder The registration sink.
+     */
+    void bind(T owner, ForgeBinder binder);
+}
@@ -0,0 +1,131 @@
+package com.stzteam.forgemini.io;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>ForgeRegistry</b>
+ * <p>
+ * Brings {@link Signal} and {@link Tunable} to code that is not an {@link IOSubsystem}:
+ * static members of holder classes (e.g. {@code Constants}) and plain objects (vision pipelines,
+ * superstructure state machines...). Members declared by superclasses are included.
+ * </p>
+ * <h3>Usage Example:</h3>
+ * <pre>
+ * public final class Constants {
+ *     &#64;Tunable public static double kMaxSpeed = 4.5;
+ *     &#64;Signal public static String buildVersion() { return BuildInfo.VERSION; }
+ * }
+ *
+ * // Robot.robotInit()
+ * ForgeRegistry.register(Constants.class);           // Table "Constants"
+ * ForgeRegistry.register("Vision", visionPipeline);  // Instance (and inherited) members
+ * </pre>
+ * <p>
+ * Registration is deferred: everything registered so far is bound in a single pass on the next
+ * {@link #run()}, and the member scan of each class is cached. After that, a cycle only runs the
+ * queued tunable changes and due signals of each entry. {@code Optimizer.update()} calls
+ * {@link #run()} every loop; call it yourself only if you don't use the Optimizer.
+ * </p>
+ * <p>
+ * Not thread-safe: register and run from the robot thread.
+ * </p>
+ */
+public final class ForgeRegistry {
+
+    private static final List<IOBindings> bound = new ArrayList<>();
+    private static final List<Runnable> pending = new ArrayList<>();
+    private static final List<IOBindings> pendingBindings = new ArrayList<>();
+    // Registered holders (classes and instances), by identity: each one is bound once
+    private static final Map<Object, IOBindings> registered = new IdentityHashMap<>();
+
+    private ForgeRegistry() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Registers the static members of a class (and its superclasses) under a table named after it.
+     * @param type The holder class.
+     */
+    public static void register(Class<?> type) {
+        register(type.getSimpleName(), type);
+    }
+
+    /**
+     * Registers the static members of a class (and its superclasses).
+     * @param tableName The NetworkTables table.
+     * @param type The holder class.
+     */
+    public static void register(String tableName, Class<?> type) {
+        if (registered.containsKey(type)) return;
+        IOBindings bindings = new IOBindings(tableName);
+        registered.put(type, bindings);
+        pendingBindings.add(bindings);
+        pending.add(() -> bindings.bindStatic(type));
+    }
+
+    /**
+     * Registers the members (instance, static and inherited) of an object.
+     * <p>
+     * Do not use it for an {@link IOSubsystem}: subsystems bind themselves.
+     * </p>
+     * @param tableName The NetworkTables table.
+     * @param owner The object.
+     */
+    public static void register(String tableName, Object owner) {
+        if (owner instanceof Class) {
+            register(tableName, (Class<?>) owner);
+            return;
+        }
+        if (registered.containsKey(owner)) return;
+        IOBindings bindings = new IOBindings(tableName);
+        registered.put(owner, bindings);
+        pendingBindings.add(bindings);
+        pending.add(() -> bindings.bind(owner));
+    }
+
+    /**
+     * Binds the pending registrations (once), then applies changed tunables and publishes due
+     * signals of every registered holder.
+     */
+    public static void run() {
+        if (!pending.isEmpty()) {
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    pending.get(i).run();
+                } catch (Exception e) {
+                    System.err.println("[ForgeRegistry] Registration failed: " + e.getMessage());
+                }
+            }
+            bound.addAll(pendingBindings);
+            pending.clear();
+            pendingBindings.clear();
+        }
+
+        for (int i = 0; i < bound.size(); i++) {
+            IOBindings bindings = bound.get(i);
+            bindings.runTunables();
+            bindings.runSignals();
+        }
+    }
+
+    /**
+     * Unregisters a holder and closes its tunable listeners and topics.
+     * @param holder The class or object passed to {@code register}.
+     */
+    public static void unregister(Object holder) {
+        IOBindings bindings = registered.remove(holder);
+        if (bindings == null) return;
+
+        int index = pendingBindings.indexOf(bindings);
+        if (index >= 0) {
+            pendingBindings.remove(index);
+            pending.remove(index);
+        }
+        bound.remove(bindings);
+        bindings.close();
+        NetworkIO.closeAll(bindings.tableName());
+    }
+}
@@ -0,0 +1,682 @@
+package com.stzteam.forgemini.io;
+
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.BooleanSubscriber;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.DoubleSubscriber;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.IntegerSubscriber;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.networktables.StringSubscriber;
+import edu.wpi.first.networktables.Subscriber;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The task engine behind {@link IOSubsystem}.
+ * <p>
+ * Holds the pre-compiled signal and tunable tasks of one NetworkTables table.
+ * Members are registered class by class up the hierarchy, either by that class's generated
+ * {@link ForgeBindings} (direct access, no scanning) or, when none exists, by a reflection scan
+ * (cached per class) that builds the same typed accessors through {@link Accessors}.
+ * </p>
+ * <p>
+ * Every signal task binds its {@link NetworkIO} handle at registration, so publishing
+ * never rebuilds topic paths or looks up the publisher cache.
+ * </p>
+ * <p>
+ * Tunables are event-driven: a NetworkTables value listener queues a tunable's task when its
+ * topic changes (at most once until it runs), and {@link #runTunables()} only runs the queued
+ * tasks. A cycle without dashboard edits costs one empty queue poll, whatever the tunable count.
+ * </p>
+ */
+final class IOBindings implements ForgeBinder {
+
+    /** Generated bindings per class, resolved once ({@code null} when the processor did not run). */
+    private static final ClassValue<ForgeBindings<Object>> GENERATED = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected ForgeBindings<Object> computeValue(Class<?> type) {
+            try {
+                Class<?> generated = Class.forName(type.getName() + "_ForgeBindings", true, type.getClassLoader());
+                return (ForgeBindings<Object>) generated.getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                return null;
+            } catch (Exception e) {
+                System.err.println("[IOSubsystem] Could not load generated bindings for " + type.getSimpleName() + ": " + e.getMessage());
+                return null;
+            }
+        }
+    };
+
+    /** Annotated members declared by each class, scanned once. */
+    private static final ClassValue<Method[]> SIGNAL_METHODS = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            List<Method> found = new ArrayList<>();
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Signal.class)) found.add(method);
+            }
+            return found.toArray(new Method[0]);
+        }
+    };
+
+    private static final ClassValue<Field[]> TUNABLE_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> found = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Tunable.class)) found.add(field);
+            }
+            return found.toArray(new Field[0]);
+        }
+    };
+
+    private final String tableName;
+    private NetworkTable table;
+
+    // Pre-compiled tasks (Runnables) to avoid reflection during runtime
+    private final SignalScheduler.Queue signals = new SignalScheduler.Queue();
+    // Tunable tasks queued by NT listener threads, drained by the robot thread
+    private final ConcurrentLinkedQueue<Runnable> pendingTunables = new ConcurrentLinkedQueue<>();
+    private final List<Integer> listeners = new ArrayList<>();
+    private final List<AutoCloseable> tunableEndpoints = new ArrayList<>();
+
+    // onChange callbacks by method name, and the ones due after this cycle's tunables
+    private final Map<String, Callback> callbacks = new HashMap<>();
+    private final List<Callback> dueCallbacks = new ArrayList<>();
+
+    IOBindings(String tableName) {
+        this.tableName = tableName;
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    /**
+     * Registers every {@link Signal} and {@link Tunable} member of the owner's class and its
+     * superclasses (up to, not including, {@link IOSubsystem}), superclasses first.
+     * @param owner The object whose members are bound.
+     */
+    void bind(Object owner) {
+        table = NetworkTableInstance.getDefault().getTable(tableName);
+
+        for (Class<?> type : hierarchy(owner.getClass())) {
+            ForgeBindings<Object> generated = GENERATED.get(type);
+            if (generated != null) {
+                generated.bind(owner, this);
+            } else {
+                registerSignals(owner, type);
+                registerTunables(owner, type);
+            }
+        }
+    }
+
+    /**
+     * Registers the <b>static</b> {@link Signal} and {@link Tunable} members of a class and its
+     * superclasses (always through reflection: generated bindings need an instance).
+     * @param type The class whose static members are bound.
+     */
+    void bindStatic(Class<?> type) {
+        table = NetworkTableInstance.getDefault().getTable(tableName);
+
+        for (Class<?> level : hierarchy(type)) {
+            registerSignals(null, level);
+            registerTunables(null, level);
+        }
+    }
+
+    /**
+     * @return {@code type} and its superclasses below {@link IOSubsystem} / {@link Object}, topmost first.
+     */
+    private static List<Class<?>> hierarchy(Class<?> type) {
+        List<Class<?>> levels = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class && c != IOSubsystem.class; c = c.getSuperclass()) {
+            levels.add(0, c);
+        }
+        return levels;
+    }
+
+    /**
+     * Runs the tunable (input) tasks whose topic changed since the last cycle.
+     */
+    void runTunables() {
+        Runnable task;
+        while ((task = pendingTunables.poll()) != null) task.run();
+
+        // The whole batch is applied: now each affected callback runs once
+        if (dueCallbacks.isEmpty()) return;
+        for (int i = 0; i < dueCallbacks.size(); i++) dueCallbacks.get(i).run();
+        dueCallbacks.clear();
+    }
+
+    /**
+     * Removes the tunable listeners and closes their publishers and subscribers.
+     */
+    void close() {
+        NetworkTableInstance inst = NetworkTableInstance.getDefault();
+        for (int listener : listeners) inst.removeListener(listener);
+        listeners.clear();
+        pendingTunables.clear();
+        for (AutoCloseable endpoint : tunableEndpoints) {
+            try { endpoint.close(); } catch (Exception e) {}
+        }
+        tunableEndpoints.clear();
+    }
+
+    /**
+     * Runs the signal (output) tasks that are due this cycle (see {@link SignalScheduler}).
+     */
+    void runSignals() {
+        signals.run();
+    }
+
+    // ============================================================
+    //  SECTION 1: SIGNALS (Output)
+    // ============================================================
+
+    /**
+     * Scans methods for @Signal annotation and compiles optimized publishing tasks.
+     * <p>
+     * Each method is turned into a typed accessor (see {@link Accessors}) here, so the
+     * per-cycle path never touches {@code Method.invoke} and primitives are never boxed.
+     * </p>
+     */
+    private void registerSignals(Object owner, Class<?> declaring) {
+        for (Method method : SIGNAL_METHODS.get(declaring)) {
+            if (owner == null && !Modifier.isStatic(method.getModifiers())) continue;
+
+            Signal annotation = method.getAnnotation(Signal.class);
+            Class<?> type = method.getReturnType();
+
+            try {
+                if (type == double.class || type == Double.class) {
+                    doubleSignal(method.getName(), annotation, Accessors.doubleGetter(owner, method));
+                } else if (type == boolean.class || type == Boolean.class) {
+                    booleanSignal(method.getName(), annotation, Accessors.booleanGetter(owner, method));
+                } else if (type == String.class || isStructSupported(type)) {
+                    objectSignal(method.getName(), annotation, type, Accessors.objectGetter(owner, method));
+                }
+            } catch (Exception e) {
+                System.err.println("[IOSubsystem] Error registering Signal '" + keyOf(method.getName(), annotation) + "': " + e.getMessage());
+            }
+        }
+    }
+
+    // ============================================================
+    //  OPTIMIZED SECTION: SIGNAL LOGIC WITH FILTERS
+    // ============================================================
+
+    @Override
+    public void doubleSignal(String name, Signal config, DoubleSupplier getter) {
+        String key = keyOf(name, config);
+        boolean checkChange = config.onChange();
+
+        final NetworkIO.DoubleHandle out = NetworkIO.doubleHandle(tableName, key);
+        final SignalGate gate = new SignalGate(config);
+        final double deadband = config.deadband();
+        final double relativeDeadband = config.relativeDeadband();
+        final double[] lastVal = { Double.NaN };
+        signals.add(() -> {
+            try {
+                double current = getter.getAsDouble();
+                if (!checkChange) {
+                    out.set(current);
+                    return;
+                }
+                double threshold = Math.max(deadband, relativeDeadband * Math.abs(lastVal[0]));
+                // Identical values (NaN -> NaN included) are unchanged; NaN never passes the deadband test
+                boolean changed = gate.isFirst()
+                    || !(Double.compare(current, lastVal[0]) == 0 || Math.abs(current - lastVal[0]) <= threshold);
+                if (gate.shouldPublish(changed)) {
+                    out.set(current);
+                    lastVal[0] = current;
+                    gate.published();
+                }
+            } catch (Exception e) {}
+        }, config);
+    }
+
+    @Override
+    public void booleanSignal(String name, Signal config, BooleanSupplier getter) {
+        String key = keyOf(name, config);
+        boolean checkChange = config.onChange();
+
+        final NetworkIO.BooleanHandle out = NetworkIO.booleanHandle(tableName, key);
+        final SignalGate gate = new SignalGate(config);
+        final boolean[] lastVal = { false };
+        signals.add(() -> {
+            try {
+                boolean current = getter.getAsBoolean();
+                if (!checkChange || gate.shouldPublish(current != lastVal[0])) {
+                    out.set(current);
+                    lastVal[0] = current;
+                    gate.published();
+                }
+            } catch (Exception e) {}
+        }, config);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void objectSignal(String name, Signal config, Class<?> type, Supplier<?> getter) {
+        String key = keyOf(name, config);
+        boolean checkChange = config.onChange();
+
+        if (type == String.class) {
+            createStringTask(key, config, (Supplier<String>) getter, checkChange);
+        } else if (isStructSupported(type)) {
+            createStructTask(key, config, getter, checkChange);
+        }
+    }
+
+    private void createStringTask(String key, Signal config, Supplier<String> getter, boolean checkChange) {
+        final NetworkIO.StringHandle out = NetworkIO.stringHandle(tableName, key);
+        final SignalGate gate = new SignalGate(config);
+        final String[] lastVal = { null };
+        signals.add(() -> {
+            try {
+                String current = getter.get();
+                if (!checkChange || gate.shouldPublish(lastVal[0] == null || !lastVal[0].equals(current))) {
+                    out.set(current);
+                    lastVal[0] = current;
+                    gate.published();
+                }
+            } catch (Exception e) {}
+        }, config);
+    }
+
+    private void createStructTask(String key, Signal config, Supplier<?> getter, boolean checkChange) {
+        final NetworkIO.StructHandle out = NetworkIO.structHandle(tableName, key);
+        final SignalGate gate = new SignalGate(config);
+
+        signals.add(() -> {
+            try {
+                Object value = getter.get();
+                if (value == null) return;
+
+                // The handle auto-resolves the struct on the first value.
+                // onChange compares the packed bytes, not equals() (which may use tolerances)
+                if (!checkChange) {
+                    out.set(value);
+                } else if (gate.shouldPublish(out.packIfChanged(value))) {
+                    out.publishLastPacked(); // A change, or a heartbeat of the unchanged value
+                    gate.published();
+                }
+            } catch (Exception e) {}
+        }, config);
+    }
+
+    // ============================================================
+    //  SECTION 2: TUNABLES (Input)
+    // ============================================================
+
+    /**
+     * Scans fields for @Tunable annotation and configures bi-directional syncing.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void registerTunables(Object owner, Class<?> declaring) {
+        for (Field field : TUNABLE_FIELDS.get(declaring)) {
+            if (owner == null && !Modifier.isStatic(field.getModifiers())) continue;
+
+            Tunable annotation = field.getAnnotation(Tunable.class);
+            Class<?> type = field.getType();
+            registerCallback(owner, declaring, annotation.onChange());
+            try {
+                if (type == double.class || type == float.class) {
+                    doubleTunable(field.getName(), annotation,
+                        Accessors.doubleFieldGetter(owner, field), Accessors.doubleFieldSetter(owner, field));
+                } else if (type == boolean.class) {
+                    booleanTunable(field.getName(), annotation,
+                        Accessors.booleanFieldGetter(owner, field), Accessors.booleanFieldSetter(owner, field));
+                } else if (type == int.class || type == long.class) {
+                    longTunable(field.getName(), annotation,
+                        Accessors.longFieldGetter(owner, field), Accessors.longFieldSetter(owner, field));
+                } else if (type == String.class) {
+                    stringTunable(field.getName(), annotation,
+                        Accessors.objectFieldGetter(owner, field), Accessors.objectFieldSetter(owner, field));
+                } else if (type.isEnum()) {
+                    registerEnumTunable(owner, field, annotation, (Class) type);
+                } else if (type == double[].class) {
+                    doubleArrayTunable(field.getName(), annotation,
+                        Accessors.objectFieldGetter(owner, field), Accessors.objectFieldSetter(owner, field));
+                }
+            } catch (Exception e) { e.printStackTrace(); }
+        }
+    }
+
+    /**
+     * Resolves an {@link Tunable#onChange()} method by name (declared or inherited, no arguments).
+     */
+    private void registerCallback(Object owner, Class<?> declaring, String name) {
+        if (name.isEmpty() || callbacks.containsKey(name)) return;
+        Class<?> start = owner != null ? owner.getClass() : declaring;
+        for (Class<?> c = start; c != null; c = c.getSuperclass()) {
+            try {
+                Method method = c.getDeclaredMethod(name);
+                if (owner == null && !Modifier.isStatic(method.getModifiers())) break;
+                tunableCallback(name, Accessors.runnable(owner, method));
+                return;
+            } catch (NoSuchMethodException e) {
+                // Keep walking up
+            } catch (Exception e) {
+                break;
+            }
+        }
+        System.err.println("[IOSubsystem] onChange method '" + name + "()' not found in " + start.getSimpleName()
+            + (owner == null ? " (static tunables need a static method)" : ""));
+    }
+
+    private <E extends Enum<E>> void registerEnumTunable(Object owner, Field field, Tunable annotation, Class<E> type)
+            throws ReflectiveOperationException {
+        enumTunable(field.getName(), annotation, type,
+            Accessors.<E>objectFieldGetter(owner, field), Accessors.<E>objectFieldSetter(owner, field));
+    }
+
+    @Override
+    public void tunableCallback(String name, Runnable action) {
+        callbacks.put(name, new Callback(name, action));
+    }
+
+    @Override
+    public void doubleTunable(String name, Tunable config, DoubleSupplier getter, DoubleConsumer setter) {
+        // Read the actual initialized value from the owner
+        double initialValue = getter.getAsDouble();
+        var topic = table.getDoubleTopic(keyOf(name, config));
+        boolean exists = topic.exists();
+        DoublePublisher pub = topic.publish();
+        DoubleSubscriber sub = topic.subscribe(initialValue);
+        scalarTunable(pathOf(name, config), config, initialValue, exists, sub, pub,
+            sub::get, pub::set, setter::accept, TunableStore::getDouble, TunableStore::put);
+    }
+
+    @Override
+    public void booleanTunable(String name, Tunable config, BooleanSupplier getter, BooleanConsumer setter) {
+        boolean initialValue = getter.getAsBoolean();
+        var topic = table.getBooleanTopic(keyOf(name, config));
+        boolean exists = topic.exists();
+        BooleanPublisher pub = topic.publish();
+        BooleanSubscriber sub = topic.subscribe(initialValue);
+        scalarTunable(pathOf(name, config), config, initialValue, exists, sub, pub,
+            sub::get, pub::set, setter::accept, TunableStore::getBoolean, TunableStore::put);
+    }
+
+    @Override
+    public void longTunable(String name, Tunable config, LongSupplier getter, LongConsumer setter) {
+        long initialValue = getter.getAsLong();
+        var topic = table.getIntegerTopic(keyOf(name, config));
+        boolean exists = topic.exists();
+        IntegerPublisher pub = topic.publish();
+        IntegerSubscriber sub = topic.subscribe(initialValue);
+        scalarTunable(pathOf(name, config), config, initialValue, exists, sub, pub,
+            sub::get, pub::set, setter::accept, TunableStore::getLong, TunableStore::put);
+    }
+
+    @Override
+    public void stringTunable(String name, Tunable config, Supplier<String> getter, Consumer<String> setter) {
+        String initialValue = getter.get() == null ? "" : getter.get();
+        var topic = table.getStringTopic(keyOf(name, config));
+        boolean exists = topic.exists();
+        StringPublisher pub = topic.publish();
+        StringSubscriber sub = topic.subscribe(initialValue);
+        scalarTunable(pathOf(name, config), config, initialValue, exists, sub, pub,
+            sub::get, pub::set, setter, TunableStore::getString, TunableStore::put);
+    }
+
+    /**
+     * Shared flow of the double, boolean, long and String tunables; the callers only supply the
+     * typed topic, field and snapshot accessors.
+     * <p>
+     * A new topic publishes the last tuned value from the local snapshot (or the code default) and
+     * applies it; an existing topic's value wins and is recorded. Afterwards every dashboard edit is
+     * applied on the next {@link #runTunables()}. Values are boxed at registration and on edits only,
+     * never per cycle.
+     * </p>
+     * @param initialValue The field's value at registration (the code default).
+     * @param exists True if the topic already existed in NetworkTables.
+     * @param read Reads the current NT value.
+     * @param publish Publishes a value to the topic.
+     * @param setter Writes the field.
+     * @param restore Gets the snapshot value of a path, or the given default.
+     * @param persist Records a value in the snapshot.
+     */
+    private <T> void scalarTunable(String path, Tunable config, T initialValue, boolean exists,
+                                   Subscriber sub, AutoCloseable pub, Supplier<T> read, Consumer<T> publish,
+                                   Consumer<T> setter, BiFunction<String, T, T> restore,
+                                   BiConsumer<String, T> persist) {
+        final Runnable changed = changeHook(config);
+
+        if (!exists) {
+            // Last tuned value from the local snapshot (if any), otherwise the code default
+            T restored = restore.apply(path, initialValue);
+            publish.accept(restored);
+            if (!restored.equals(initialValue)) {
+                setter.accept(restored);
+                changed.run();
+            }
+        } else {
+            // Update local field immediately if value exists in NT
+            T current = read.get();
+            setter.accept(current);
+            persist.accept(path, current);
+            if (!current.equals(initialValue)) changed.run();
+        }
+
+        final Object[] lastValue = { initialValue };
+        watch(sub, pub, () -> {
+            T currentNT = read.get();
+            if (!currentNT.equals(lastValue[0])) {
+                try {
+                    setter.accept(currentNT);
+                    lastValue[0] = currentNT;
+                    persist.accept(path, currentNT);
+                    changed.run();
+                } catch (Exception e) {}
+            }
+        });
+        // Read after the listener exists, so no edit can slip in between
+        lastValue[0] = read.get();
+    }
+
+    @Override
+    public <E extends Enum<E>> void enumTunable(String name, Tunable config, Class<E> type, Supplier<E> getter, Consumer<E> setter) {
+        final Runnable changed = changeHook(config);
+        // Resolved by name against the constants array: no valueOf() exception on a bad edit
+        final E[] constants = type.getEnumConstants();
+        E initial = getter.get();
+        String initialValue = initial == null ? "" : initial.name();
+        final String path = pathOf(name, config);
+        var topic = table.getStringTopic(keyOf(name, config));
+        boolean exists = topic.exists();
+        StringPublisher pub = topic.publish();
+        StringSubscriber sub = topic.subscribe(initialValue);
+
+        final String[] lastValue = { initialValue };
+        Runnable apply = () -> {
+            String currentNT = sub.get();
+            if (currentNT.equals(lastValue[0])) return;
+            lastValue[0] = currentNT;
+            for (E constant : constants) {
+                if (constant.name().equals(currentNT)) {
+                    try {
+                        setter.accept(constant);
+                        TunableStore.put(path, currentNT);
+                        changed.run();
+                    } catch (Exception e) {}
+                    return;
+                }
+            }
+            System.err.println("[IOSubsystem] Unknown value '" + currentNT + "' for tunable '"
+                + keyOf(name, config) + "' (expected one of " + Arrays.toString(constants) + ")");
+        };
+
+        if (!exists) {
+            // A restored name is applied by apply.run() below, like a dashboard edit
+            pub.set(TunableStore.getString(path, initialValue));
+        } else {
+            apply.run();
+        }
+
+        watch(sub, pub, apply);
+        apply.run();
+    }
+
+    @Override
+    public void doubleArrayTunable(String name, Tunable config, Supplier<double[]> getter, Consumer<double[]> setter) {
+        final Runnable changed = changeHook(config);
+        double[] initialValue = getter.get() == null ? new double[0] : getter.get();
+        final String path = pathOf(name, config);
+        var topic = table.getDoubleArrayTopic(keyOf(name, config));
+        boolean exists = topic.exists();
+        DoubleArrayPublisher pub = topic.publish();
+        DoubleArraySubscriber sub = topic.subscribe(initialValue);
+
+        if (!exists) {
+            double[] restored = TunableStore.getDoubleArray(path, initialValue);
+            pub.set(restored);
+            if (!Arrays.equals(restored, initialValue)) {
+                setter.accept(restored);
+                initialValue = restored;
+                changed.run();
+            }
+        } else {
+            double[] current = sub.get();
+            setter.accept(current);
+            TunableStore.put(path, sub.get());
+            if (!Arrays.equals(current, initialValue)) changed.run();
+        }
+
+        // Compared against a retained copy: the field's array may be mutated by user code
+        final double[][] lastValue = { initialValue.clone() };
+        Runnable apply = () -> {
+            double[] currentNT = sub.get();
+            if (Arrays.equals(currentNT, lastValue[0])) return;
+            try {
+                setter.accept(currentNT);
+                TunableStore.put(path, currentNT.clone()); // The field's array may be mutated
+                changed.run();
+                if (lastValue[0].length == currentNT.length) {
+                    System.arraycopy(currentNT, 0, lastValue[0], 0, currentNT.length);
+                } else {
+                    lastValue[0] = currentNT.clone();
+                }
+            } catch (Exception e) {}
+        };
+        watch(sub, pub, apply);
+        lastValue[0] = sub.get(); // A fresh array from NT, not shared with the field
+    }
+
+    /**
+     * A coalesced {@link Tunable#onChange()} callback.
+     */
+    private final class Callback implements Runnable {
+        final String name;
+        final Runnable action;
+        boolean due = false;
+
+        Callback(String name, Runnable action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        /**
+         * Schedules the callback for the end of the current tunable batch (once).
+         */
+        void mark() {
+            if (due) return;
+            due = true;
+            dueCallbacks.add(this);
+        }
+
+        @Override
+        public void run() {
+            due = false;
+            try {
+                action.run();
+            } catch (Exception e) {
+                System.err.println("[IOSubsystem] onChange '" + name + "' failed: " + e);
+            }
+        }
+    }
+
+    private static final Runnable NO_CALLBACK = () -> {};
+
+    /**
+     * @return What a tunable runs after applying a change: marks its callback as due, if any.
+     */
+    private Runnable changeHook(Tunable config) {
+        Callback callback = callbacks.get(config.onChange());
+        return callback == null ? NO_CALLBACK : callback::mark;
+    }
+
+    /**
+     * Queues {@code task} for the next {@link #runTunables()} whenever {@code sub}'s topic changes.
+     * <p>
+     * The listener runs on a NetworkTables thread: it only raises the tunable's pending flag and,
+     * if it was not raised yet, enqueues the task (lock-free). Several edits between two cycles
+     * therefore run the task once, and the task reads the latest value itself.
+     * </p>
+     */
+    private void watch(Subscriber sub, AutoCloseable pub, Runnable task) {
+        final AtomicBoolean pending = new AtomicBoolean();
+        Runnable drain = () -> {
+            pending.set(false); // Before reading: an edit during the task queues it again
+            task.run();
+        };
+
+        int listener = NetworkTableInstance.getDefault().addListener(sub, EnumSet.of(NetworkTableEvent.Kind.kValueAll), event -> {
+            if (pending.compareAndSet(false, true)) pendingTunables.offer(drain);
+        });
+        listeners.add(listener);
+        tunableEndpoints.add(pub);
+        tunableEndpoints.add(sub);
+    }
+
+    // ============================================================
+    //  HELPERS
+    // ============================================================
+
+    private static String keyOf(String name, Signal config) {
+        return config.key().isEmpty() ? name : config.key();
+    }
+
+    private static String keyOf(String name, Tunable config) {
+        return config.key().isEmpty() ? name : config.key();
+    }
+
+    /**
+     * @return The tunable's full path, its identity in the {@link TunableStore} snapshot.
+     */
+    private String pathOf(String name, Tunable config) {
+        return tableName + "/" + keyOf(name, config);
+    }
+
+    private static boolean isStructSupported(Class<?> type) {
+        try { return type.getField("struct") != null; } catch (Exception e) { return false; }
+    }
+}
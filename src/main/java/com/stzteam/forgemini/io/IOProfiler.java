@@ -0,0 +1,124 @@
+package com.stzteam.forgemini.io;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-subsystem {@code periodic()} timing.
+ * <p>
+ * Every {@link IOSubsystem} owns one profiler. Each cycle it records how long its three phases
+ * took (tunables, {@code periodicLogic()}, signals) using {@link System#nanoTime()}, into
+ * preallocated ring buffers covering the last {@value #WINDOW} cycles. Once per window it publishes
+ * a summary to {@code <Table>/Profile/...}.
+ * </p>
+ * <p>
+ * {@code Optimizer} calls {@link #describeSlowest(int)} when it detects a loop overrun, to report
+ * which subsystems took the most time in that loop.
+ * </p>
+ */
+public final class IOProfiler {
+
+    /** Number of cycles kept per subsystem (and the summary publish period). */
+    public static final int WINDOW = 50;
+
+    private static final List<IOProfiler> profilers = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final long[] tunableNs = new long[WINDOW];
+    private final long[] logicNs = new long[WINDOW];
+    private final long[] signalNs = new long[WINDOW];
+    private int head = 0;
+    private long lastTotalNs = 0;
+
+    // Summary topics (bound once)
+    private final NetworkIO.DoubleHandle tunableAvgTopic;
+    private final NetworkIO.DoubleHandle logicAvgTopic;
+    private final NetworkIO.DoubleHandle signalAvgTopic;
+    private final NetworkIO.DoubleHandle totalMaxTopic;
+
+    IOProfiler(String tableName) {
+        this.name = tableName;
+        this.tunableAvgTopic = NetworkIO.doubleHandle(tableName, "Profile/Tunables_avg_ms");
+        this.logicAvgTopic = NetworkIO.doubleHandle(tableName, "Profile/Logic_avg_ms");
+        this.signalAvgTopic = NetworkIO.doubleHandle(tableName, "Profile/Signals_avg_ms");
+        this.totalMaxTopic = NetworkIO.doubleHandle(tableName, "Profile/Total_max_ms");
+        profilers.add(this);
+    }
+
+    /**
+     * Records one cycle.
+     * @param tunables Nanoseconds spent in tunable tasks.
+     * @param logic Nanoseconds spent in {@code periodicLogic()}.
+     * @param signals Nanoseconds spent in signal tasks.
+     */
+    void record(long tunables, long logic, long signals) {
+        tunableNs[head] = tunables;
+        logicNs[head] = logic;
+        signalNs[head] = signals;
+        lastTotalNs = tunables + logic + signals;
+
+        if (++head == WINDOW) {
+            head = 0;
+            publishSummary();
+        }
+    }
+
+    /**
+     * Stops reporting this subsystem.
+     */
+    void unregister() {
+        profilers.remove(this);
+    }
+
+    private void publishSummary() {
+        long tunableSum = 0, logicSum = 0, signalSum = 0, totalMax = 0;
+        for (int i = 0; i < WINDOW; i++) {
+            tunableSum += tunableNs[i];
+            logicSum += logicNs[i];
+            signalSum += signalNs[i];
+            totalMax = Math.max(totalMax, tunableNs[i] + logicNs[i] + signalNs[i]);
+        }
+        tunableAvgTopic.set(tunableSum / (WINDOW * 1e6));
+        logicAvgTopic.set(logicSum / (WINDOW * 1e6));
+        signalAvgTopic.set(signalSum / (WINDOW * 1e6));
+        totalMaxTopic.set(totalMax / 1e6);
+    }
+
+    // ============================================================
+    //  REPORTING
+    // ============================================================
+
+    /**
+     * Describes the subsystems that took the most time in their latest cycle.
+     * <p>
+     * Intended for rare events (e.g. a loop overrun): it builds Strings.
+     * </p>
+     * @param n The maximum number of subsystems to report.
+     * @return Entries like {@code "Drive: 6.12ms (T 0.10 / L 5.80 / S 0.22)"}, slowest first.
+     */
+    public static String[] describeSlowest(int n) {
+        IOProfiler[] snapshot = profilers.toArray(new IOProfiler[0]);
+        int count = Math.min(n, snapshot.length);
+
+        // Partial selection sort: only the first N positions are ordered
+        for (int i = 0; i < count; i++) {
+            int slowest = i;
+            for (int j = i + 1; j < snapshot.length; j++) {
+                if (snapshot[j].lastTotalNs > snapshot[slowest].lastTotalNs) slowest = j;
+            }
+            IOProfiler tmp = snapshot[i];
+            snapshot[i] = snapshot[slowest];
+            snapshot[slowest] = tmp;
+        }
+
+        String[] report = new String[count];
+        for (int i = 0; i < count; i++) report[i] = snapshot[i].describeLast();
+        return report;
+    }
+
+    private String describeLast() {
+        int last = (head + WINDOW - 1) % WINDOW;
+        return String.format("%s: %.2fms (T %.2f / L %.2f / S %.2f)", name, lastTotalNs / 1e6,
+            tunableNs[last] / 1e6, logicNs[last] / 1e6, signalNs[last] / 1e6);
+    }
+}
@@ -1,19 +1,8 @@
 package com.stzteam.forgemini.io;
 
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import edu.wpi.first.networktables.DoublePublisher;
-import edu.wpi.first.networktables.DoubleSubscriber;
-import edu.wpi.first.networktables.BooleanPublisher;
-import edu.wpi.first.networktables.BooleanSubscriber;
-import edu.wpi.first.networktables.NetworkTable;
-import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.util.Color;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * The high-performance base class for all ForgeMini subsystems.
  * <p>
@@ -25,6 +14,11 @@ import java.util.List;
  * <ul>
  * <li><b>{@link Signal} (Output):</b> Automatically publishes methods to the Dashboard.</li>
  * <li><b>{@link Tunable} (Input):</b> Injects Dashboard values directly into fields.</li>
+ * <li><b>Generated Bindings:</b> Uses the {@link ForgeBindings} class produced by the annotation
+ * processor when available, and falls back to reflection otherwise.</li>
+ * <li><b>Inheritance:</b> Members declared by intermediate base classes are bound too. For classes
+ * that are not subsystems (e.g. a {@code Constants} holder), see {@link ForgeRegistry}.</li>
+ * <li><b>Phase Profiling:</b> Times tunables, logic and signals every cycle (see {@link IOProfiler}).</li>
  * <li><b>Lazy Initialization:</b> Waits for the first periodic cycle to ensure fields are set.</li>
  * </ul>
  */
@@ -36,9 +30,10 @@ public abstract class IOSubsystem extends SubsystemBase {
     public final String tableName;
     private boolean isInitialized = false;
     
-    // Pre-compiled tasks (Runnables) to avoid reflection during runtime
-    private final List<Runnable> signalTasks = new ArrayList<>();
-    private final List<Runnable> tunableTasks = new ArrayList<>();
+    // Pre-compiled signal/tunable tasks to avoid reflection during runtime
+    private final IOBindings bindings;
+    // Phase timing (tunables / logic / signals) for overrun diagnosis
+    private final IOProfiler profiler;
 
     /**
      * Creates a new IOSubsystem.
@@ -50,212 +45,99 @@ public abstract class IOSubsystem extends SubsystemBase {
      */
     public IOSubsystem(String tableName) {
         this.tableName = tableName;
+        this.bindings = new IOBindings(tableName);
+        this.profiler = new IOProfiler(tableName);
     }
 
-    // ============================================================
-    //  SECTION 1: SIGNALS (Output)
-    // ============================================================
-
-    /**
-     * Scans methods for @Signal annotation and compiles optimized publishing tasks.
-     */
-    private void registerSignals() {
-        for (Method method : this.getClass().getDeclaredMethods()) {
-            if (!method.isAnnotationPresent(Signal.class)) continue;
-
-            Signal annotation = method.getAnnotation(Signal.class);
-            String key = annotation.key().isEmpty() ? method.getName() : annotation.key();
-            method.setAccessible(true);
-
-            try {
-                createOptimizedSignalTask(key, method, annotation);
-            } catch (Exception e) {
-                System.err.println("[IOSubsystem] Error registering Signal '" + key + "': " + e.getMessage());
-            }
+    @Override
+    public void periodic() {
+        // Lazy Load: Ensures subclass fields are initialized before registration
+        if (!isInitialized) {
+            bindings.bind(this);
+            isInitialized = true;
         }
-    }
 
-    // ============================================================
-    //  OPTIMIZED SECTION: SIGNAL LOGIC WITH FILTERS
-    // ============================================================
+        // 1. Tunables (INPUT): Read fresh data first so Logic uses current values
+        long start = System.nanoTime();
+        bindings.runTunables();
+        long afterTunables = System.nanoTime();
 
-    private void createOptimizedSignalTask(String key, Method method, Signal config) {
-        Class<?> type = method.getReturnType();
-        boolean checkChange = config.onChange();
-        int period = Math.max(1, config.slowScale()); 
+        // 2. User Logic (PROCESS): Run the subsystem behavior
+        periodicLogic();
+        long afterLogic = System.nanoTime();
 
-        final int[] cycleCounter = {0}; 
-        
-        if (type == double.class || type == Double.class) {
-            final double[] lastVal = { Double.NaN };
-            signalTasks.add(() -> {
-                cycleCounter[0]++;
-                if (cycleCounter[0] < period) return; 
-                cycleCounter[0] = 0; 
-                try {
-                    double current = ((Number) method.invoke(this)).doubleValue();
-                    if (!checkChange || Math.abs(current - lastVal[0]) > 1e-5) { 
-                        NetworkIO.set(tableName, key, current);
-                        lastVal[0] = current;
-                    }
-                } catch (Exception e) {}
-            });
-        }
-        else if (type == boolean.class || type == Boolean.class) {
-            final boolean[] lastVal = { false };
-            final boolean[] isFirstRun = { true };
-            signalTasks.add(() -> {
-                cycleCounter[0]++;
-                if (cycleCounter[0] < period) return;
-                cycleCounter[0] = 0;
-                try {
-                    boolean current = (boolean) method.invoke(this);
-                    if (!checkChange || isFirstRun[0] || current != lastVal[0]) {
-                        NetworkIO.set(tableName, key, current);
-                        lastVal[0] = current;
-                        isFirstRun[0] = false;
-                    }
-                } catch (Exception e) {}
-            });
-        }
-        else if (type == String.class) {
-            final String[] lastVal = { null };
-            signalTasks.add(() -> {
-                cycleCounter[0]++;
-                if (cycleCounter[0] < period) return;
-                cycleCounter[0] = 0;
-                try {
-                    String current = (String) method.invoke(this);
-                    if (!checkChange || lastVal[0] == null || !lastVal[0].equals(current)) {
-                        NetworkIO.set(tableName, key, current);
-                        lastVal[0] = current;
-                    }
-                } catch (Exception e) {}
-            });
-        }
-        else if (isStructSupported(type)) {
-             createStructTask(key, method, type, period, checkChange);
-        }
-    }
-    
-    private void createStructTask(String key, Method method, Class<?> type, int period, boolean checkChange) {
-        try {
-            final int[] cycleCounter = {0};
-            final Object[] lastVal = { null }; 
+        // 3. Signals (OUTPUT): Publish the results of this cycle immediately
+        bindings.runSignals();
+        long end = System.nanoTime();
 
-            signalTasks.add(() -> {
-                cycleCounter[0]++;
-                if (cycleCounter[0] < period) return;
-                cycleCounter[0] = 0;
-                try { 
-                    Object value = method.invoke(this);
-                    if (value != null) {
-                        if (!checkChange || lastVal[0] == null || !lastVal[0].equals(value)) {
-                            // Delegates to magic NetworkIO to auto-resolve structs
-                            NetworkIO.set(tableName, key, value);
-                            if(checkChange) lastVal[0] = value;
-                        }
-                    }
-                } catch (Exception e) {}
-            });
-        } catch (Exception e) {}
+        profiler.record(afterTunables - start, afterLogic - afterTunables, end - afterLogic);
     }
 
     // ============================================================
-    //  SECTION 2: TUNABLES (Input)
+    //  SIGNAL SCHEDULING (Global)
     // ============================================================
 
     /**
-     * Scans fields for @Tunable annotation and configures bi-directional syncing.
+     * Sets a per-loop time budget shared by the signals of all subsystems.
+     * <p>
+     * Once the signals published in the current loop have used the budget, the remaining
+     * due signals below the protected priority are deferred to the next cycle. Use it to cap
+     * telemetry cost when the loop is tight.
+     * </p>
+     * <p>
+     * {@link Signal#priority()} orders the signals <b>within each subsystem</b>; subsystems publish in
+     * the order the CommandScheduler runs them, so a later subsystem may find the budget already used
+     * by an earlier one. Give signals that must go out every cycle a protected priority.
+     * </p>
+     * @param micros The budget in microseconds (0 = unlimited, default).
      */
-    private void registerTunables() {
-        NetworkTable table = NetworkTableInstance.getDefault().getTable(tableName);
-        for (Field field : this.getClass().getDeclaredFields()) {
-            if (!field.isAnnotationPresent(Tunable.class)) continue;
-
-            Tunable annotation = field.getAnnotation(Tunable.class);
-            String key = annotation.key().isEmpty() ? field.getName() : annotation.key();
-            field.setAccessible(true);
-            try {
-                if (field.getType() == double.class) {
-                    setupDoubleTunable(table, key, field);
-                } else if (field.getType() == boolean.class) {
-                    setupBooleanTunable(table, key, field);
-                }
-            } catch (Exception e) { e.printStackTrace(); }
-        }
+    public static void setSignalBudget(double micros) {
+        SignalScheduler.setBudget(micros);
     }
 
-    private void setupDoubleTunable(NetworkTable table, String key, Field field) throws IllegalAccessException {
-        // Read the actual initialized value from the subclass
-        double initialValue = field.getDouble(this);
-        var topic = table.getDoubleTopic(key);
-        boolean exists = topic.exists();
-        DoublePublisher pub = topic.publish();
-        DoubleSubscriber sub = topic.subscribe(initialValue);
-
-        if (!exists) {
-            pub.set(initialValue);
-        } else {
-            // Update local field immediately if value exists in NT
-            field.setDouble(this, sub.get());
-        }
-
-        final double[] lastValue = { sub.get() };
-        tunableTasks.add(() -> {
-            double currentNT = sub.get();
-            if (currentNT != lastValue[0]) {
-                try {
-                    field.setDouble(this, currentNT);
-                    lastValue[0] = currentNT;
-                } catch (Exception e) {}
-            }
-        });
-    }
-
-    private void setupBooleanTunable(NetworkTable table, String key, Field field) throws IllegalAccessException {
-        boolean initialValue = field.getBoolean(this);
-        var topic = table.getBooleanTopic(key);
-        boolean exists = topic.exists();
-        BooleanPublisher pub = topic.publish();
-        BooleanSubscriber sub = topic.subscribe(initialValue);
-
-        if (!exists) pub.set(initialValue);
-        else field.setBoolean(this, sub.get());
-
-        final boolean[] lastValue = { sub.get() };
-        tunableTasks.add(() -> {
-            boolean currentNT = sub.get();
-            if (currentNT != lastValue[0]) {
-                try {
-                    field.setBoolean(this, currentNT);
-                    lastValue[0] = currentNT;
-                } catch (Exception e) {}
-            }
-        });
+    /**
+     * Sets the lowest {@link Signal#priority()} that is never deferred by the signal budget.
+     * @param priority The protected priority (default: 1).
+     */
+    public static void setProtectedSignalPriority(int priority) {
+        SignalScheduler.setProtectedPriority(priority);
     }
 
-    private boolean isStructSupported(Class<?> type) {
-        try { return type.getField("struct") != null; } catch (Exception e) { return false; }
+    /**
+     * Gets how many signal publications were deferred by the budget since startup.
+     * @return The number of deferrals.
+     */
+    public static long getDeferredSignalCount() {
+        return SignalScheduler.deferredCount();
     }
 
-    @Override
-    public void periodic() {
-        // Lazy Load: Ensures subclass fields are initialized before registration
-        if (!isInitialized) {
-            registerSignals();
-            registerTunables();
-            isInitialized = true;
-        }
-
-        // 1. Tunables (INPUT): Read fresh data first so Logic uses current values
-        for (int i = 0; i < tunableTasks.size(); i++) tunableTasks.get(i).run();
+    // ============================================================
+    //  TUNABLE PERSISTENCE (Global)
+    // ============================================================
 
-        // 2. User Logic (PROCESS): Run the subsystem behavior
-        periodicLogic();
+    /**
+     * Persists tunable values to {@code /home/lvuser/forge_tunables.bin}.
+     * @see #enableTunablePersistence(String)
+     */
+    public static void enableTunablePersistence() {
+        enableTunablePersistence("/home/lvuser/forge_tunables.bin");
+    }
 
-        // 3. Signals (OUTPUT): Publish the results of this cycle immediately
-        for (int i = 0; i < signalTasks.size(); i++) signalTasks.get(i).run();
+    /**
+     * Persists tunable values to a local snapshot file, so tuning survives reboots.
+     * <p>
+     * Every dashboard edit is saved in the background (coalesced, atomic replace). On startup, a
+     * {@link Tunable} whose topic does not exist yet in NetworkTables starts from its saved value
+     * instead of the code default, before the first {@code periodic()}. A value already in
+     * NetworkTables still wins. Delete the file to go back to the code defaults.
+     * </p>
+     * <p>
+     * Call it in {@code Robot.robotInit()}, before subsystems run their first cycle.
+     * </p>
+     * @param path The snapshot file.
+     */
+    public static void enableTunablePersistence(String path) {
+        TunableStore.enable(path);
     }
 
     /**
@@ -275,6 +157,10 @@ public abstract class IOSubsystem extends SubsystemBase {
         NetworkIO.set(tableName, key, value);
     }
 
+    public void setInteger(String key, long value){
+        NetworkIO.setInteger(tableName, key, value);
+    }
+
     public void setEntry(String key, boolean value){
         NetworkIO.set(tableName, key, value);
     }
@@ -312,9 +198,11 @@ public abstract class IOSubsystem extends SubsystemBase {
     }
 
     /**
-     * Closes all NetworkTable publishers and subscribers associated with this subsystem.
+     * Closes all NetworkTable publishers, subscribers and tunable listeners associated with this subsystem.
      */
     public void close() {
+        profiler.unregister();
+        bindings.close();
         NetworkIO.closeAll(tableName);
     }
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.stzteam.forgemini.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One column (topic) of a {@link TelemetryLog}, encoded in chunks.
+ * <p>
+ * Samples are buffered into two preallocated streams, timestamps and values, and written out as
+ * one chunk when the streams fill up, the chunk gets old, or the log flushes. Every chunk is
+ * self-contained (encoder state restarts), so a truncated file loses at most its last chunks.
+ * </p>
+ * <h3>Encodings:</h3>
+ * <ul>
+ * <li><b>Timestamps:</b> first time as a varint in the chunk header, then zigzag varint deltas.</li>
+ * <li><b>DOUBLE:</b> Gorilla XOR bit stream: {@code 0} = same value; {@code 10} = reuse the previous
+ * leading/trailing-zero window; {@code 11} = 6-bit leading zeros, 6-bit length - 1, meaningful bits.</li>
+ * <li><b>LONG:</b> zigzag varint of the delta to the previous value.</li>
+ * <li><b>BOOLEAN:</b> one bit per sample.</li>
+ * <li><b>STRING:</b> varint dictionary id (see {@link TelemetryLog}); 0 = inline literal.</li>
+ * <li><b>RAW:</b> varint (length + 1) then the bytes; 0 = same bytes as the previous sample.</li>
+ * </ul>
+ * <p>
+ * Not thread-safe: only the {@link TelemetryLog} writer thread encodes.
+ * </p>
+ */
+final class LogColumn {
+
+    static final byte DOUBLE = 1;
+    static final byte LONG = 2;
+    static final byte BOOLEAN = 3;
+    static final byte STRING = 4;
+    static final byte RAW = 5;
+
+    /** Chunks are cut after this many samples, even if the streams have room. */
+    static final int MAX_SAMPLES = 1024;
+    /** Chunks are cut once their first sample is this old (microseconds). */
+    static final long MAX_CHUNK_AGE_MICROS = 1_000_000;
+
+    private static final int TIME_BYTES = 4 * 1024;
+    private static final int VALUE_BYTES = 8 * 1024;
+    /**
+     * Room kept free in each stream before taking a sample: a worst-case Gorilla sample (78 bits)
+     * can complete two 64-bit words, and the bits left pending need up to 8 more bytes to flush.
+     */
+    private static final int SAMPLE_MARGIN = 24;
+
+    final String path;
+    final byte kind;
+    volatile boolean recorded = true; // False if its table was not opted in
+    int id = -1;            // Column id in the current file
+    int generation = -1;    // File the column was last defined in
+
+    private final ByteBuffer times = ByteBuffer.allocate(TIME_BYTES);
+    private ByteBuffer values = ByteBuffer.allocate(VALUE_BYTES);
+    private int count = 0;
+    private long firstTime;
+    private long lastTime;
+
+    // Value stream state
+    private long bitAcc = 0;
+    private int bitCount = 0;
+    private long prevBits;
+    private int prevLeading;
+    private int prevTrailing;
+    private long prevLong;
+    private byte[] prevRaw = new byte[0];
+    private int prevRawLength = -1;
+
+    LogColumn(String path, byte kind) {
+        this.path = path;
+        this.kind = kind;
+    }
+
+    /**
+     * Restarts the column for a new file (buffered samples are discarded).
+     */
+    void reset(int id, int generation) {
+        this.id = id;
+        this.generation = generation;
+        clear();
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return True if the chunk should be written before taking a sample of {@code extraBytes}.
+     */
+    boolean isFull(long time, int extraBytes) {
+        return count > 0 && (count >= MAX_SAMPLES
+            || time - firstTime >= MAX_CHUNK_AGE_MICROS
+            || times.remaining() < SAMPLE_MARGIN
+            || values.remaining() < SAMPLE_MARGIN + extraBytes);
+    }
+
+    // ============================================================
+    //  SAMPLES
+    // ============================================================
+
+    void addDouble(long time, double value) {
+        addTime(time);
+        long bits = Double.doubleToRawLongBits(value);
+        if (count == 1) {
+            writeBits(bits, 64);
+            prevLeading = -1;
+        } else {
+            long xor = bits ^ prevBits;
+            if (xor == 0) {
+                writeBits(0, 1);
+            } else {
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 63);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+                    writeBits(0b10, 2);
+                    writeBits(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+                } else {
+                    int length = 64 - leading - trailing;
+                    writeBits(0b11, 2);
+                    writeBits(leading, 6);
+                    writeBits(length - 1, 6);
+                    writeBits(xor >>> trailing, length);
+                    prevLeading = leading;
+                    prevTrailing = trailing;
+                }
+            }
+        }
+        prevBits = bits;
+    }
+
+    void addLong(long time, long value) {
+        addTime(time);
+        putVarLong(values, zigzag(value - prevLong));
+        prevLong = value;
+    }
+
+    void addBoolean(long time, boolean value) {
+        addTime(time);
+        writeBits(value ? 1 : 0, 1);
+    }
+
+    /**
+     * @param dictId The dictionary id, or 0 to write {@code literal} inline.
+     * @param literal The UTF-8 bytes when {@code dictId} is 0.
+     */
+    void addString(long time, int dictId, byte[] literal) {
+        addTime(time);
+        putVarLong(values, dictId);
+        if (dictId == 0) {
+            ensureValues(literal.length + SAMPLE_MARGIN);
+            putVarLong(values, literal.length);
+            values.put(literal);
+        }
+    }
+
+    /**
+     * @param source The array holding the sample at {@code [offset, offset + length)}.
+     */
+    void addRaw(long time, byte[] source, int offset, int length) {
+        addTime(time);
+        if (length == prevRawLength
+                && Arrays.equals(source, offset, offset + length, prevRaw, 0, length)) {
+            putVarLong(values, 0);
+            return;
+        }
+        ensureValues(length + SAMPLE_MARGIN);
+        putVarLong(values, length + 1L);
+        values.put(source, offset, length);
+
+        if (prevRaw.length < length) prevRaw = new byte[length];
+        System.arraycopy(source, offset, prevRaw, 0, length);
+        prevRawLength = length;
+    }
+
+    // ============================================================
+    //  CHUNK OUTPUT
+    // ============================================================
+
+    /**
+     * Writes the buffered chunk (if any) into {@code out} and starts a new one.
+     * @param out The destination, with at least {@link #encodedSize()} bytes remaining.
+     */
+    void writeChunk(ByteBuffer out) {
+        if (count == 0) return;
+        flushBits();
+        out.put(TelemetryLog.BLOCK_CHUNK);
+        putVarLong(out, id);
+        putVarLong(out, count);
+        putVarLong(out, firstTime);
+        putVarLong(out, times.position());
+        putVarLong(out, values.position());
+        out.put(times.array(), 0, times.position());
+        out.put(values.array(), 0, values.position());
+        clear();
+    }
+
+    /**
+     * @return An upper bound of the bytes {@link #writeChunk(ByteBuffer)} will produce.
+     */
+    int encodedSize() {
+        return 1 + 6 * 10 + times.position() + values.position() + 8;
+    }
+
+    private void clear() {
+        times.clear();
+        values.clear();
+        count = 0;
+        bitAcc = 0;
+        bitCount = 0;
+        prevLong = 0;
+        prevRawLength = -1;
+    }
+
+    private void addTime(long time) {
+        if (count == 0) {
+            firstTime = time;
+        } else {
+            putVarLong(times, zigzag(time - lastTime));
+        }
+        lastTime = time;
+        count++;
+    }
+
+    /**
+     * Grows the value stream for an oversized sample (e.g. a large struct array).
+     */
+    private void ensureValues(int bytes) {
+        if (values.remaining() >= bytes) return;
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(values.capacity() * 2, values.position() + bytes));
+        grown.put(values.array(), 0, values.position());
+        values = grown;
+    }
+
+    // ============================================================
+    //  BIT / VARINT PRIMITIVES
+    // ============================================================
+
+    /**
+     * Appends the low {@code n} bits of {@code value} (1 to 64), most significant first.
+     */
+    private void writeBits(long value, int n) {
+        while (n > 0) {
+            int take = Math.min(64 - bitCount, n);
+            long chunk = (take == 64) ? value : (value >>> (n - take)) & ((1L << take) - 1);
+            bitAcc = (take == 64) ? chunk : (bitAcc << take) | chunk;
+            bitCount += take;
+            n -= take;
+            if (bitCount == 64) {
+                values.putLong(bitAcc);
+                bitAcc = 0;
+                bitCount = 0;
+            }
+        }
+    }
+
+    /**
+     * Pads the pending bits with zeros to a whole byte and writes them.
+     */
+    private void flushBits() {
+        if (bitCount == 0) return;
+        long aligned = bitAcc << (64 - bitCount);
+        for (int i = 0; i < (bitCount + 7) / 8; i++) {
+            values.put((byte) (aligned >>> (56 - 8 * i)));
+        }
+        bitAcc = 0;
+        bitCount = 0;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
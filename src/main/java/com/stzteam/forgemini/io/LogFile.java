@@ -0,0 +1,95 @@
+package com.stzteam.forgemini.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log file written through a sliding memory-mapped window.
+ * <p>
+ * Encoded blocks are put straight into a {@link MappedByteBuffer} over the end of the file, so
+ * appending is a memory copy and the kernel writes the pages back in large sequential runs. When
+ * the window fills up, it is forced to storage and the next one is mapped where the data ends.
+ * {@link #sync()} forces the current window (fsync). Only the {@link TelemetryLog} writer thread
+ * touches it.
+ * </p>
+ * <p>
+ * Mapping extends the file past the data: {@link #close()} truncates it to the bytes actually
+ * written. If that fails (a platform that cannot truncate a mapped file) or the robot loses power,
+ * the file ends with zeros, which {@link TelemetryLogReader} treats as the end of the log.
+ * </p>
+ */
+final class LogFile implements AutoCloseable {
+
+    private static final int WINDOW_BYTES = 1024 * 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart = 0;   // File offset of window index 0
+
+    LogFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, WINDOW_BYTES);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the buffer to append to, with at least {@code bytes} contiguous bytes remaining.
+     * @param bytes The number of bytes about to be written.
+     * @return The mapped window (write at its position).
+     * @throws IOException If the next window cannot be mapped (e.g. disk full).
+     */
+    ByteBuffer reserve(int bytes) throws IOException {
+        if (window.remaining() < bytes) {
+            long end = size();
+            sync();
+            window = channel.map(FileChannel.MapMode.READ_WRITE, end, Math.max(WINDOW_BYTES, bytes));
+            windowStart = end;
+        }
+        return window;
+    }
+
+    /**
+     * @return The number of bytes appended so far.
+     */
+    long size() {
+        return windowStart + window.position();
+    }
+
+    /**
+     * Forces the appended data to storage (fsync).
+     * @throws IOException If the pages cannot be written.
+     */
+    void sync() throws IOException {
+        try {
+            window.force();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long end = size();
+            sync();
+            window = null; // Unmapped by the GC; nothing touches it after this
+            try {
+                channel.truncate(end);
+            } catch (IOException e) {
+                // Still mapped (e.g. on Windows): the zero tail stays, readers stop at it
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
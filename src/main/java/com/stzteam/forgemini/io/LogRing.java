@@ -0,0 +1,142 @@
+package com.stzteam.forgemini.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of {@link TelemetryLog} records, preallocated at start.
+ * <p>
+ * Producers (publishing threads) copy each record into parallel arrays; struct bytes are copied
+ * into a byte arena that is reused circularly. The writer thread (single consumer) drains them.
+ * Producers never block and never allocate: when the ring or the arena is full, the record is
+ * dropped and counted as an overflow.
+ * </p>
+ */
+final class LogRing {
+
+    private final int mask;
+    private final LogColumn[] columns;
+    private final long[] values;    // Double bits, long, boolean (1/0) or arena position
+    private final Object[] refs;    // Strings
+    private final int[] lengths;    // Raw byte count
+    private final long[] times;
+
+    private final byte[] arena;
+    private long arenaTail = 0;                               // Producers (under lock)
+    private volatile long arenaHead = 0;                      // Consumer
+
+    private final AtomicLong head = new AtomicLong();     // Next slot to read (consumer)
+    private final AtomicLong tail = new AtomicLong();     // Next slot to write (producers)
+    private final AtomicLong overflows = new AtomicLong();
+
+    /**
+     * @param capacity The number of records (rounded up to a power of two).
+     * @param arenaBytes The bytes reserved for struct payloads.
+     */
+    LogRing(int capacity, int arenaBytes) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.columns = new LogColumn[size];
+        this.values = new long[size];
+        this.refs = new Object[size];
+        this.lengths = new int[size];
+        this.times = new long[size];
+        this.arena = new byte[Math.max(1024, arenaBytes)];
+    }
+
+    /**
+     * Enqueues a numeric record (doubles as raw bits, booleans as 1/0).
+     * @return False if the record was dropped.
+     */
+    synchronized boolean offer(LogColumn column, long value, Object ref, long time) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            overflows.incrementAndGet();
+            return false;
+        }
+        int i = (int) (t & mask);
+        columns[i] = column;
+        values[i] = value;
+        refs[i] = ref;
+        lengths[i] = 0;
+        times[i] = time;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Enqueues a raw record, copying {@code bytes[0, length)} into the arena.
+     * @return False if the record was dropped.
+     */
+    synchronized boolean offerRaw(LogColumn column, ByteBuffer bytes, int length, long time) {
+        long t = tail.get();
+        if (t - head.get() > mask || length > arena.length) {
+            overflows.incrementAndGet();
+            return false;
+        }
+
+        // Payloads are contiguous: skip the end of the arena if it does not fit
+        long position = arenaTail;
+        int offset = (int) (position % arena.length);
+        if (offset + length > arena.length) {
+            position += arena.length - offset;
+            offset = 0;
+        }
+        if (position + length - arenaHead > arena.length) {
+            overflows.incrementAndGet();
+            return false;
+        }
+        bytes.get(0, arena, offset, length);
+        arenaTail = position + length;
+
+        int i = (int) (t & mask);
+        columns[i] = column;
+        values[i] = position;
+        refs[i] = null;
+        lengths[i] = length;
+        times[i] = time;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Encodes every available record into its column (consumer thread only).
+     * @return The number of records drained.
+     */
+    int drain() {
+        int drained = 0;
+        long h = head.get();
+        long end = tail.get();
+        for (; h < end; h++) {
+            int i = (int) (h & mask);
+            LogColumn column = columns[i];
+            int length = lengths[i];
+            if (length > 0 || column.kind == LogColumn.RAW) {
+                long position = values[i];
+                TelemetryLog.encodeRaw(column, arena, (int) (position % arena.length), length, times[i]);
+                arenaHead = position + length;
+            } else {
+                TelemetryLog.encode(column, values[i], refs[i], times[i]);
+            }
+            columns[i] = null;
+            refs[i] = null;
+            head.lazySet(h + 1);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return True if no record is waiting.
+     */
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    /**
+     * @return The total number of records dropped because the ring or arena was full.
+     */
+    long overflowCount() {
+        return overflows.get();
+    }
+}
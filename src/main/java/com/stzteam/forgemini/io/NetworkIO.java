@@ -5,7 +5,11 @@ import edu.wpi.first.util.struct.Struct;
 import edu.wpi.first.wpilibj.util.Color;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * NetworkTables Input/Output Engine.
@@ -23,11 +27,185 @@ public class NetworkIO {
     private static final ConcurrentHashMap<String, Publisher> publishers = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<String, Subscriber> subscribers = new ConcurrentHashMap<>();
     
+    // Handle Cache: pre-resolved, typed topic wrappers (see doubleHandle(), etc.)
+    private static final ConcurrentHashMap<String, Object> handles = new ConcurrentHashMap<>();
+
+    // Path-based Array Publishes: table -> key -> handle, so steady-state lookups build no path String
+    private static final ConcurrentHashMap<String, ConcurrentHashMap<String, ArrayHandle>> arrayHandlesByTable = new ConcurrentHashMap<>();
+
     // Struct Cache (To avoid using expensive reflection every cycle)
     private static final ConcurrentHashMap<Class<?>, Struct<?>> structCache = new ConcurrentHashMap<>();
 
+    // Batch Staging: handles written this loop, pushed together by flush()
+    private static PublishMode publishMode = PublishMode.IMMEDIATE;
+    private static StagedHandle[] staged = new StagedHandle[64];
+    private static int stagedCount = 0;
+
+    // Async Publishing: samples handed to a background thread through a lock-free ring
+    private static int asyncCapacity = 4096;
+    private static DropPolicy asyncDropPolicy = DropPolicy.DROP_OLDEST;
+    private static long asyncDrainPeriodMicros = 2000;
+    private static TelemetryRing asyncRing;
+    private static Thread asyncPublisher;
+
     private NetworkIO() {}
 
+    // ============================================================
+    //  PUBLISH MODE
+    // ============================================================
+
+    /**
+     * How values written through handles reach NetworkTables.
+     */
+    public enum PublishMode {
+        /** Every {@code set()} on a handle publishes right away (default). */
+        IMMEDIATE,
+        /**
+         * Handles only stage the latest value. {@link NetworkIO#flush()} publishes every staged
+         * value once per loop with a single shared timestamp (coherent snapshot).
+         */
+        BATCHED,
+        /**
+         * Handles only sample the value into a lock-free ring; a background daemon thread
+         * (started when the mode is selected) publishes it. Telemetry never stretches loop time.
+         */
+        ASYNC
+    }
+
+    /**
+     * What {@link PublishMode#ASYNC} does when the publisher thread falls behind and the ring is full.
+     */
+    public enum DropPolicy {
+        /** Discard the incoming sample (keeps the oldest data). */
+        DROP_NEWEST,
+        /** Overwrite the oldest pending sample (keeps the freshest data, default). */
+        DROP_OLDEST
+    }
+
+    /**
+     * Selects how handle writes (all {@code @Signal} tasks) are published.
+     * <p>
+     * In {@link PublishMode#BATCHED} mode, {@code Optimizer.update()} calls {@link #flush()} at the
+     * end of every loop. If you don't use the Optimizer, call {@link #flush()} yourself at the end
+     * of {@code robotPeriodic()}. The direct {@code set(table, key, ...)} methods always publish immediately.
+     * </p>
+     * @param mode The publish mode (default: IMMEDIATE).
+     */
+    public static void setPublishMode(PublishMode mode) {
+        if (mode != PublishMode.BATCHED) flush();
+        if (mode == PublishMode.ASYNC) startAsyncPublisher();
+        publishMode = mode;
+    }
+
+    /**
+     * Configures {@link PublishMode#ASYNC}. Call <b>before</b> selecting the mode.
+     * @param capacity The number of samples the ring can hold (rounded up to a power of two, default: 4096).
+     * @param policy What to drop when the ring is full (default: DROP_OLDEST).
+     * @param drainPeriodMs How often the publisher thread wakes up to drain the ring (default: 2ms).
+     */
+    public static void configureAsync(int capacity, DropPolicy policy, double drainPeriodMs) {
+        asyncCapacity = Math.max(2, capacity);
+        asyncDropPolicy = policy;
+        asyncDrainPeriodMicros = Math.max(100, (long) (drainPeriodMs * 1000));
+    }
+
+    /**
+     * Starts the background publisher thread used by {@link PublishMode#ASYNC}.
+     * <p>
+     * Only started by {@link #setPublishMode(PublishMode)} when ASYNC is selected. Safe to call more than once.
+     * </p>
+     */
+    private static synchronized void startAsyncPublisher() {
+        if (asyncPublisher != null) return;
+        if (asyncRing == null) asyncRing = new TelemetryRing(asyncCapacity, asyncDropPolicy);
+
+        final TelemetryRing ring = asyncRing;
+        final long parkNanos = asyncDrainPeriodMicros * 1000;
+        asyncPublisher = new Thread(() -> {
+            while (true) {
+                try {
+                    ring.drain();
+                } catch (Exception e) {
+                    System.err.println("[NetworkIO] Async publisher error: " + e.getMessage());
+                }
+                LockSupport.parkNanos(parkNanos);
+            }
+        }, "ForgeMini-Telemetry");
+        asyncPublisher.setDaemon(true);
+        asyncPublisher.setPriority(Thread.NORM_PRIORITY - 1);
+        asyncPublisher.start();
+        System.out.println("[NetworkIO] Async telemetry publisher started.");
+    }
+
+    /**
+     * Gets the number of samples lost because the async ring was full.
+     * @return The dropped sample count (0 if ASYNC was never used).
+     */
+    public static long getDroppedSamples() {
+        TelemetryRing ring = asyncRing;
+        return ring == null ? 0 : ring.droppedCount();
+    }
+
+    /**
+     * Hands a sample to the async publisher (robot thread only).
+     */
+    private static void enqueue(StagedHandle handle, double number, Object ref) {
+        asyncRing.offer(handle, number, 0, ref, NetworkTablesJNI.now());
+    }
+
+    /**
+     * Hands an integer sample to the async publisher (robot thread only).
+     */
+    private static void enqueue(StagedHandle handle, long integer) {
+        asyncRing.offer(handle, 0, integer, null, NetworkTablesJNI.now());
+    }
+
+    /**
+     * Hands a copy of packed bytes (from index 0) to the async publisher (robot thread only).
+     */
+    private static void enqueueBytes(StagedHandle handle, ByteBuffer bytes, int length) {
+        asyncRing.offerBytes(handle, bytes, length, NetworkTablesJNI.now());
+    }
+
+    /**
+     * Gets the current publish mode.
+     * @return The publish mode.
+     */
+    public static PublishMode getPublishMode() {
+        return publishMode;
+    }
+
+    /**
+     * Publishes every value staged since the last flush, all with the same timestamp.
+     * <p>
+     * No-op in {@link PublishMode#IMMEDIATE} mode. Must be called from the robot thread.
+     * </p>
+     */
+    public static void flush() {
+        if (stagedCount == 0) return;
+
+        long now = NetworkTablesJNI.now();
+        for (int i = 0; i < stagedCount; i++) {
+            StagedHandle handle = staged[i];
+            staged[i] = null;
+            handle.isStaged = false;
+            handle.publishStaged(now);
+        }
+        stagedCount = 0;
+    }
+
+    /**
+     * Adds a handle to the staging list (once per loop, no matter how many times it is set).
+     */
+    private static void stage(StagedHandle handle) {
+        if (handle.isStaged) return;
+        handle.isStaged = true;
+        if (stagedCount == staged.length) {
+            staged = Arrays.copyOf(staged, staged.length * 2);
+        }
+        staged[stagedCount++] = handle;
+    }
+
     // ============================================================
     //  OUTPUT (SETTERS)
     // ============================================================
@@ -39,115 +217,296 @@ public class NetworkIO {
      * This method inspects the object at runtime, automatically finds its 
      * associated struct, and publishes it to the Dashboard.
      * </p>
+     * <p>
+     * The publishing strategy is resolved once per runtime class. Prefer the primitive
+     * overloads for primitives: they never box.
+     * </p>
      * @param table The table name.
      * @param key The value name.
      * @param value The object to publish (e.g., a Pose2d instance).
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public static void set(String table, String key, Object value) {
         if (value == null) return;
+        WRITERS.get(value.getClass()).write(table, key, value);
+    }
 
-        // If a primitive type slipped in here, redirect it to the fast overload (Safety)
-        if (value instanceof Double) { set(table, key, (double) value); return; }
-        if (value instanceof Boolean) { set(table, key, (boolean) value); return; }
-        if (value instanceof String) { set(table, key, (String) value); return; }
-        if (value instanceof Integer){ set(table, key, (int) value); return;}
+    /**
+     * Publishes one value of a known runtime type.
+     */
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(String table, String key, Object value);
+    }
 
+    /**
+     * Typed writer per runtime class, resolved once: the generic setter does a single
+     * {@link ClassValue} lookup instead of an {@code instanceof} chain on every call.
+     */
+    private static final ClassValue<ValueWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ValueWriter computeValue(Class<?> type) {
+            // Boxed primitives are redirected to the fast overloads (Safety)
+            if (type == Double.class) return (t, k, v) -> set(t, k, ((Double) v).doubleValue());
+            if (type == Float.class) return (t, k, v) -> set(t, k, ((Float) v).doubleValue());
+            if (type == Boolean.class) return (t, k, v) -> set(t, k, ((Boolean) v).booleanValue());
+            if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+                return (t, k, v) -> setInteger(t, k, ((Number) v).longValue());
+            }
+            if (type == String.class) return (t, k, v) -> set(t, k, (String) v);
+            if (type == Color.class) return (t, k, v) -> set(t, k, (Color) v);
+            if (type.isArray()) return NetworkIO::handleArray;
+            return NetworkIO::setStruct;
+        }
+    };
+
+    private static void setStruct(String table, String key, Object value) {
         String path = table + "/" + key;
+        StructHandle handle = (StructHandle) handles.get(path);
+        if (handle == null) handle = structHandle(table, key);
+        handle.set(value);
+    }
 
-        if (value.getClass().isArray()) {
-            handleArray(table, key, path, value);
-            return;
+    /**
+     * Creates a raw publisher for a struct topic and registers the struct schema.
+     * <p>
+     * Struct handles pack values themselves (see {@link StructHandle}), so the topic is published
+     * as raw bytes with the struct type string; dashboards see a regular struct topic.
+     * </p>
+     */
+    private static Publisher createStructPublisher(String table, String key, Struct<?> struct) {
+        try {
+            inst.addSchema(struct);
+            return inst.getTable(table).getRawTopic(key).publish(struct.getTypeString());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
         }
-        
-        // Find or create the publisher
-        Publisher pub = publishers.computeIfAbsent(path, k -> {
-            try {
-          
-                Struct struct = getStructForClass(value.getClass());
-                if (struct != null) {
-                    return inst.getTable(table).getStructTopic(key, struct).publish();
-                } else {
-                    System.err.println("[NetworkIO] Error: No .struct found for class " + value.getClass().getSimpleName());
-                    return null;
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
+    }
+
+    /**
+     * Handles the logic for publishing arrays (Primitive Arrays & Struct Arrays).
+     * <p>
+     * Goes through the topic's cached {@link ArrayHandle}, found by table then key, so a publish
+     * allocates nothing once the topic exists. Published immediately, like the other path-based setters.
+     * </p>
+     */
+    private static void handleArray(String table, String key, Object value) {
+        ConcurrentHashMap<String, ArrayHandle> byKey = arrayHandlesByTable.get(table);
+        if (byKey == null) byKey = arrayHandlesByTable.computeIfAbsent(table, t -> new ConcurrentHashMap<>());
+        ArrayHandle handle = byKey.get(key);
+        if (handle == null) handle = byKey.computeIfAbsent(key, k -> arrayHandle(table, k));
+        handle.publishNow(value);
+    }
+
+    /**
+     * Creates the publisher matching an array type, or {@code null} if it is not publishable.
+     */
+    private static Publisher createArrayPublisher(String table, String key, Class<?> arrayType) {
+        NetworkTable nt = inst.getTable(table);
+
+        // A. Primitive Arrays
+        if (arrayType == double[].class) return nt.getDoubleArrayTopic(key).publish();
+        if (arrayType == boolean[].class) return nt.getBooleanArrayTopic(key).publish();
+        if (arrayType == String[].class) return nt.getStringArrayTopic(key).publish();
+        if (arrayType == int[].class || arrayType == long[].class) return nt.getIntegerArrayTopic(key).publish();
+        if (arrayType == float[].class) return nt.getFloatArrayTopic(key).publish();
+
+        // B. Struct Arrays (e.g. Pose2d[])
+        try {
+            // Get the type of the array elements (e.g., Pose2d.class)
+            Class<?> componentType = arrayType.getComponentType();
+            Struct<?> struct = getStructForClass(componentType);
+
+            if (struct != null) {
+                // Published raw (packed by ArrayScratch) with the struct array type string
+                inst.addSchema(struct);
+                return nt.getRawTopic(key).publish(struct.getTypeString() + "[]");
+            } else {
+                System.err.println("[NetworkIO] Error: No .struct found for array type " + componentType.getSimpleName());
                 return null;
             }
-        });
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-        // If the publisher was created successfully, send the data
-        if (pub instanceof StructPublisher) {
-            ((StructPublisher) pub).set(value);
+    /**
+     * Writes an array through the publisher created by {@link #createArrayPublisher}.
+     * @param time The timestamp in microseconds (0 = now).
+     * @param scratch The topic's conversion buffers (required for {@code int[]} and struct arrays).
+     */
+    private static void writeArray(Publisher pub, Object value, long time, ArrayScratch scratch) {
+        if (pub instanceof DoubleArrayPublisher) {
+            ((DoubleArrayPublisher) pub).set((double[]) value, time);
+        } else if (pub instanceof BooleanArrayPublisher) {
+            ((BooleanArrayPublisher) pub).set((boolean[]) value, time);
+        } else if (pub instanceof StringArrayPublisher) {
+            ((StringArrayPublisher) pub).set((String[]) value, time);
+        } else if (pub instanceof IntegerArrayPublisher) {
+            if (value instanceof long[]) {
+                ((IntegerArrayPublisher) pub).set((long[]) value, time);
+                return;
+            }
+            ((IntegerArrayPublisher) pub).set(scratch.toLongs((int[]) value), time);
+        } else if (pub instanceof FloatArrayPublisher) {
+            ((FloatArrayPublisher) pub).set((float[]) value, time);
+        } else if (pub instanceof RawPublisher) {
+            int bytes = scratch.packStructs((Object[]) value);
+            ((RawPublisher) pub).set(scratch.structs, 0, bytes, time);
         }
     }
 
     /**
-     * Handles the logic for publishing arrays (Primitive Arrays & Struct Arrays).
+     * Per-topic conversion buffers for array types NT has no publisher for (e.g. {@code int[]}).
+     * <p>
+     * NT copies the array when it is set, so the buffer is reused across publishes and only
+     * reallocated when the array length changes. Each topic is only published from one thread
+     * at a time, so the buffer needs no locking.
+     * </p>
+     * <p>
+     * Struct arrays are packed into a direct buffer whose capacity is bucketed to a power of two,
+     * so lists that change length (vision targets, trajectories) reuse it as long as they fit.
+     * In {@link PublishMode#ASYNC} mode primitive arrays are packed the same way, so the publisher
+     * thread gets a copy instead of the caller's array.
+     * </p>
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private static void handleArray(String table, String key, String path, Object value) {
-        
-        // A. Primitive Arrays
-        if (value instanceof double[]) {
-            Publisher pub = publishers.computeIfAbsent(path, k -> inst.getTable(table).getDoubleArrayTopic(key).publish());
-            ((DoubleArrayPublisher) pub).set((double[]) value);
-            return;
-        }
-        if (value instanceof boolean[]) {
-            Publisher pub = publishers.computeIfAbsent(path, k -> inst.getTable(table).getBooleanArrayTopic(key).publish());
-            ((BooleanArrayPublisher) pub).set((boolean[]) value);
-            return;
-        }
-        if (value instanceof String[]) {
-            Publisher pub = publishers.computeIfAbsent(path, k -> inst.getTable(table).getStringArrayTopic(key).publish());
-            ((StringArrayPublisher) pub).set((String[]) value);
-            return;
-        }
-
-        if (value instanceof int[]) {
-            Publisher pub = publishers.computeIfAbsent(path, k -> inst.getTable(table).getIntegerArrayTopic(key).publish());
-            
-            int[] intArray = (int[]) value;
-            long[] longArray = new long[intArray.length];
-            for (int i = 0; i < intArray.length; i++) {
-                longArray[i] = intArray[i];
+    private static final class ArrayScratch {
+        private static final int MIN_STRUCT_BYTES = 64;
+
+        private long[] longs = new long[0];
+        private double[] doubles = new double[0];
+        private float[] floats = new float[0];
+        private boolean[] booleans = new boolean[0];
+        private ByteBuffer unpack;      // Little-endian view of the last unpacked byte[]
+        private Struct<Object> struct;
+        private ByteBuffer structs;
+        private ByteBuffer previous;
+        private int previousBytes = -1;
+
+        /**
+         * Packs a struct array into {@link #structs}.
+         * @return The number of packed bytes (starting at index 0).
+         */
+        @SuppressWarnings("unchecked")
+        int packStructs(Object[] value) {
+            if (struct == null) struct = (Struct<Object>) getStructForClass(value.getClass().getComponentType());
+            int bytes = value.length * struct.getSize();
+            if (structs == null || structs.capacity() < bytes) structs = allocateBucket(bytes);
+
+            structs.clear();
+            for (Object element : value) {
+                struct.pack(structs, element);
             }
-            
-            ((IntegerArrayPublisher) pub).set(longArray);
-            return;
+            structs.clear();
+            return bytes;
         }
 
-        if (value instanceof float[]) {
-            Publisher pub = publishers.computeIfAbsent(path, k -> inst.getTable(table).getFloatArrayTopic(key).publish());
-            ((FloatArrayPublisher) pub).set((float[]) value);
-            return;
+        /**
+         * Packs any array but {@code String[]} into {@link #structs} (little-endian; {@code int[]}
+         * is widened to longs, booleans take one byte).
+         * @return The number of packed bytes (starting at index 0).
+         */
+        int pack(Object value) {
+            if (value instanceof Object[]) return packStructs((Object[]) value);
+
+            int bytes;
+            if (value instanceof double[]) {
+                double[] array = (double[]) value;
+                bytes = ensurePacked(array.length * Double.BYTES);
+                for (double d : array) structs.putDouble(d);
+            } else if (value instanceof long[]) {
+                long[] array = (long[]) value;
+                bytes = ensurePacked(array.length * Long.BYTES);
+                for (long l : array) structs.putLong(l);
+            } else if (value instanceof int[]) {
+                int[] array = (int[]) value;
+                bytes = ensurePacked(array.length * Long.BYTES);
+                for (int n : array) structs.putLong(n);
+            } else if (value instanceof float[]) {
+                float[] array = (float[]) value;
+                bytes = ensurePacked(array.length * Float.BYTES);
+                for (float f : array) structs.putFloat(f);
+            } else {
+                boolean[] array = (boolean[]) value;
+                bytes = ensurePacked(array.length);
+                for (boolean b : array) structs.put((byte) (b ? 1 : 0));
+            }
+            structs.clear();
+            return bytes;
         }
 
-        // B. Struct Arrays (e.g. Pose2d[])
-        Publisher pub = publishers.computeIfAbsent(path, k -> {
-            try {
-                // Get the type of the array elements (e.g., Pose2d.class)
-                Class<?> componentType = value.getClass().getComponentType();
-                Struct struct = getStructForClass(componentType);
-                
-                if (struct != null) {
-                    // IMPORTANT: We use getStructArrayTopic here
-                    return inst.getTable(table).getStructArrayTopic(key, struct).publish();
-                } else {
-                    System.err.println("[NetworkIO] Error: No .struct found for array type " + componentType.getSimpleName());
-                    return null;
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                return null;
+        private int ensurePacked(int bytes) {
+            if (structs == null || structs.capacity() < bytes) structs = allocateBucket(bytes);
+            structs.clear();
+            return bytes;
+        }
+
+        /**
+         * Publishes bytes produced by {@link #pack(Object)} through the array's publisher.
+         */
+        void publishPacked(Publisher pub, byte[] bytes, int length, long time) {
+            if (pub instanceof RawPublisher) {
+                ((RawPublisher) pub).set(bytes, 0, length, time);
+                return;
             }
-        });
+            if (unpack == null || !unpack.hasArray() || unpack.array() != bytes) {
+                unpack = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            if (pub instanceof DoubleArrayPublisher) {
+                int n = length / Double.BYTES;
+                if (doubles.length != n) doubles = new double[n];
+                for (int i = 0; i < n; i++) doubles[i] = unpack.getDouble(i * Double.BYTES);
+                ((DoubleArrayPublisher) pub).set(doubles, time);
+            } else if (pub instanceof IntegerArrayPublisher) {
+                int n = length / Long.BYTES;
+                if (longs.length != n) longs = new long[n];
+                for (int i = 0; i < n; i++) longs[i] = unpack.getLong(i * Long.BYTES);
+                ((IntegerArrayPublisher) pub).set(longs, time);
+            } else if (pub instanceof FloatArrayPublisher) {
+                int n = length / Float.BYTES;
+                if (floats.length != n) floats = new float[n];
+                for (int i = 0; i < n; i++) floats[i] = unpack.getFloat(i * Float.BYTES);
+                ((FloatArrayPublisher) pub).set(floats, time);
+            } else if (pub instanceof BooleanArrayPublisher) {
+                if (booleans.length != length) booleans = new boolean[length];
+                for (int i = 0; i < length; i++) booleans[i] = bytes[i] != 0;
+                ((BooleanArrayPublisher) pub).set(booleans, time);
+            }
+        }
 
-        if (pub instanceof StructArrayPublisher) {
-            // Cast to Object[] is safe here because we are in rawtypes context
-            ((StructArrayPublisher) pub).set((Object[]) value);
+        /**
+         * Compares the last {@link #packStructs} result with the previously remembered one,
+         * and remembers it if it differs.
+         * @return True if the packed bytes changed.
+         */
+        boolean rememberIfChanged(int bytes) {
+            if (bytes == previousBytes) {
+                structs.limit(bytes);
+                previous.limit(bytes);
+                boolean same = structs.mismatch(previous) < 0;
+                structs.clear();
+                previous.clear();
+                if (same) return false;
+            }
+            if (previous == null || previous.capacity() < bytes) previous = allocateBucket(bytes);
+            previous.put(0, structs, 0, bytes);
+            previousBytes = bytes;
+            return true;
+        }
+
+        private static ByteBuffer allocateBucket(int bytes) {
+            int capacity = Math.max(MIN_STRUCT_BYTES, Integer.highestOneBit(Math.max(1, bytes - 1)) << 1);
+            return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        long[] toLongs(int[] value) {
+            if (longs.length != value.length) longs = new long[value.length];
+            for (int i = 0; i < value.length; i++) {
+                longs[i] = value[i];
+            }
+            return longs;
         }
     }
 
@@ -180,6 +539,7 @@ public class NetworkIO {
      */
     public static void set(String table, String key, double value) {
         String path = table + "/" + key;
+        if (TelemetryLog.active) TelemetryLog.logDouble(TelemetryLog.column(path, LogColumn.DOUBLE), value);
         Publisher pub = publishers.computeIfAbsent(path, k -> 
             inst.getTable(table).getDoubleTopic(key).publish()
         );
@@ -187,7 +547,7 @@ public class NetworkIO {
     }
 
     /**
-     * Publishes an int value.
+     * Publishes an int value (integer topic).
      * <p>
      * Explicit overload for maximum performance (bypasses reflection).
      * </p>
@@ -196,13 +556,28 @@ public class NetworkIO {
      * @param value The value to publish.
      */
     public static void set(String table, String key, int value) {
+        setInteger(table, key, value);
+    }
+
+    /**
+     * Publishes a long value to an integer topic.
+     * <p>
+     * Named explicitly so integer topics are opt-in: a {@code long} passed to {@code set} widens to
+     * the double overload (double topic), like it always has.
+     * </p>
+     * @param table The table name.
+     * @param key The key name.
+     * @param value The value to publish.
+     */
+    public static void setInteger(String table, String key, long value) {
         String path = table + "/" + key;
+        if (TelemetryLog.active) TelemetryLog.logLong(TelemetryLog.column(path, LogColumn.LONG), value);
         Publisher pub = publishers.computeIfAbsent(path, k -> 
             inst.getTable(table).getIntegerTopic(key).publish()
         );
         ((IntegerPublisher) pub).set(value);
     }
-    
+
     /**
      * Publishes a String value.
      * @param table The table name.
@@ -211,6 +586,7 @@ public class NetworkIO {
      */
     public static void set(String table, String key, String value) {
         String path = table + "/" + key;
+        if (TelemetryLog.active) TelemetryLog.logString(TelemetryLog.column(path, LogColumn.STRING), value);
         Publisher pub = publishers.computeIfAbsent(path, k -> 
             inst.getTable(table).getStringTopic(key).publish()
         );
@@ -225,6 +601,7 @@ public class NetworkIO {
      */
     public static void set(String table, String key, boolean value) {
         String path = table + "/" + key;
+        if (TelemetryLog.active) TelemetryLog.logBoolean(TelemetryLog.column(path, LogColumn.BOOLEAN), value);
         Publisher pub = publishers.computeIfAbsent(path, k -> 
             inst.getTable(table).getBooleanTopic(key).publish()
         );
@@ -311,7 +688,20 @@ public class NetworkIO {
         return ((DoubleArraySubscriber) sub).get();
     }
 
+    /**
+     * Publishes every public field of an inputs object under {@code rootTable/subTable}.
+     * <p>
+     * Classes annotated with {@link AutoPublish} use a plan compiled once per class
+     * (no per-call reflection, no boxing of primitive fields). Other classes are read
+     * reflectively on every call.
+     * </p>
+     * @param rootTable The root table name.
+     * @param subTable The sub table name.
+     * @param inputs The inputs object.
+     */
     public static void processInputs(String rootTable, String subTable, Object inputs) {
+        if (AutoPublishPlan.publish(rootTable, subTable, inputs)) return;
+
         Class<?> clazz = inputs.getClass();
 
         String basePath = rootTable + "/" + subTable;
@@ -332,16 +722,587 @@ public class NetworkIO {
     }
     
 
+    // ============================================================
+    //  HANDLES (Pre-resolved topics for hot paths)
+    // ============================================================
+
+    /**
+     * Gets a cached, typed handle for a double topic.
+     * <p>
+     * Resolve the handle <b>once</b> (e.g. at registration) and keep it. Publishing through it
+     * skips the {@code table + "/" + key} concatenation and the map lookup, so the steady-state
+     * path allocates nothing.
+     * </p>
+     * <pre>
+     * private final DoubleHandle rpm = NetworkIO.doubleHandle("Shooter", "RPM");
+     * ...
+     * rpm.set(currentRpm);
+     * </pre>
+     * @param table The table name.
+     * @param key The key name.
+     * @return The handle (the same instance for the same path).
+     */
+    public static DoubleHandle doubleHandle(String table, String key) {
+        String path = table + "/" + key;
+        return (DoubleHandle) handles.computeIfAbsent(path, k -> new DoubleHandle(table, key, path,
+            (DoublePublisher) publishers.computeIfAbsent(path, p -> inst.getTable(table).getDoubleTopic(key).publish())));
+    }
+
+    /**
+     * Gets a cached, typed handle for a boolean topic.
+     * @param table The table name.
+     * @param key The key name.
+     * @return The handle (the same instance for the same path).
+     * @see #doubleHandle(String, String)
+     */
+    public static BooleanHandle booleanHandle(String table, String key) {
+        String path = table + "/" + key;
+        return (BooleanHandle) handles.computeIfAbsent(path, k -> new BooleanHandle(table, key, path,
+            (BooleanPublisher) publishers.computeIfAbsent(path, p -> inst.getTable(table).getBooleanTopic(key).publish())));
+    }
+
+    /**
+     * Gets a cached, typed handle for a String topic.
+     * @param table The table name.
+     * @param key The key name.
+     * @return The handle (the same instance for the same path).
+     * @see #doubleHandle(String, String)
+     */
+    public static StringHandle stringHandle(String table, String key) {
+        String path = table + "/" + key;
+        return (StringHandle) handles.computeIfAbsent(path, k -> new StringHandle(path,
+            (StringPublisher) publishers.computeIfAbsent(path, p -> inst.getTable(table).getStringTopic(key).publish())));
+    }
+
+    /**
+     * Gets a cached handle for a struct topic (e.g. {@code Pose2d}).
+     * <p>
+     * The struct publisher is resolved from the first non-null value, then reused.
+     * </p>
+     * @param table The table name.
+     * @param key The key name.
+     * @return The handle (the same instance for the same path).
+     * @see #doubleHandle(String, String)
+     */
+    public static StructHandle structHandle(String table, String key) {
+        String path = table + "/" + key;
+        return (StructHandle) handles.computeIfAbsent(path, k -> new StructHandle(table, key, path));
+    }
+
+    /**
+     * Gets a cached, typed handle for an integer topic.
+     * @param table The table name.
+     * @param key The key name.
+     * @return The handle (the same instance for the same path).
+     * @see #doubleHandle(String, String)
+     */
+    public static IntegerHandle integerHandle(String table, String key) {
+        String path = table + "/" + key;
+        return (IntegerHandle) handles.computeIfAbsent(path, k -> new IntegerHandle(path,
+            (IntegerPublisher) publishers.computeIfAbsent(path, p -> inst.getTable(table).getIntegerTopic(key).publish())));
+    }
+
+    /**
+     * Gets a cached handle for an array topic (primitive, String or struct arrays).
+     * <p>
+     * The publisher is resolved from the type of the first non-null array, then reused.
+     * </p>
+     * @param table The table name.
+     * @param key The key name.
+     * @return The handle (the same instance for the same path).
+     * @see #doubleHandle(String, String)
+     */
+    public static ArrayHandle arrayHandle(String table, String key) {
+        String path = table + "/" + key;
+        return (ArrayHandle) handles.computeIfAbsent(path, k -> new ArrayHandle(table, key, path));
+    }
+
+    /**
+     * Base of every handle: lets {@link NetworkIO#flush()} and the async publisher
+     * publish values that were not sent at {@code set()} time.
+     */
+    abstract static class StagedHandle {
+        private boolean isStaged = false;
+        private LogColumn logColumn;
+
+        /**
+         * Gets this topic's {@link TelemetryLog} column (resolved on the first logged value).
+         */
+        final LogColumn logColumn(String path, byte kind) {
+            if (logColumn == null) logColumn = TelemetryLog.column(path, kind);
+            return logColumn;
+        }
+
+        /**
+         * Publishes the staged value.
+         * @param time The shared timestamp (microseconds, NT time base).
+         */
+        abstract void publishStaged(long time);
+
+        /**
+         * Publishes a sample taken from the async ring.
+         * @param number The numeric payload (booleans are 1/0).
+         * @param integer The integer payload.
+         * @param ref The reference payload (Strings, String arrays).
+         * @param time The time the sample was taken (microseconds, NT time base).
+         */
+        abstract void publishSample(double number, long integer, Object ref, long time);
+
+        /**
+         * Publishes a byte sample taken from the async ring (packed structs and arrays).
+         * @param bytes The packed value, valid until this method returns.
+         * @param length The number of bytes, from index 0.
+         * @param time The time the sample was taken (microseconds, NT time base).
+         */
+        void publishBytes(byte[] bytes, int length, long time) {}
+    }
+
+    /**
+     * Pre-resolved double topic. Obtain it with {@link NetworkIO#doubleHandle(String, String)}.
+     */
+    public static final class DoubleHandle extends StagedHandle {
+        private final String table;
+        private final String key;
+        private final String path;
+        private final DoublePublisher pub;
+        private DoubleSubscriber sub;
+        private double pending;
+
+        private DoubleHandle(String table, String key, String path, DoublePublisher pub) {
+            this.table = table;
+            this.key = key;
+            this.path = path;
+            this.pub = pub;
+        }
+
+        /**
+         * Publishes a value.
+         * @param value The value to publish.
+         */
+        public void set(double value) {
+            if (TelemetryLog.active) TelemetryLog.logDouble(logColumn(path, LogColumn.DOUBLE), value);
+            if (publishMode == PublishMode.BATCHED) {
+                pending = value;
+                stage(this);
+            } else if (publishMode == PublishMode.ASYNC) {
+                enqueue(this, value, null);
+            } else {
+                pub.set(value);
+            }
+        }
+
+        @Override
+        void publishStaged(long time) {
+            pub.set(pending, time);
+        }
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {
+            pub.set(number, time);
+        }
+
+        /**
+         * Reads the current value of the topic.
+         * @param defaultValue The value to return if the topic has no value.
+         * @return The value from NetworkTables.
+         */
+        public double get(double defaultValue) {
+            if (sub == null) {
+                sub = (DoubleSubscriber) subscribers.computeIfAbsent(path, k ->
+                    inst.getTable(table).getDoubleTopic(key).subscribe(defaultValue));
+            }
+            return sub.get(defaultValue);
+        }
+    }
+
+    /**
+     * Pre-resolved boolean topic. Obtain it with {@link NetworkIO#booleanHandle(String, String)}.
+     */
+    public static final class BooleanHandle extends StagedHandle {
+        private final String table;
+        private final String key;
+        private final String path;
+        private final BooleanPublisher pub;
+        private BooleanSubscriber sub;
+        private boolean pending;
+
+        private BooleanHandle(String table, String key, String path, BooleanPublisher pub) {
+            this.table = table;
+            this.key = key;
+            this.path = path;
+            this.pub = pub;
+        }
+
+        /**
+         * Publishes a value.
+         * @param value The value to publish.
+         */
+        public void set(boolean value) {
+            if (TelemetryLog.active) TelemetryLog.logBoolean(logColumn(path, LogColumn.BOOLEAN), value);
+            if (publishMode == PublishMode.BATCHED) {
+                pending = value;
+                stage(this);
+            } else if (publishMode == PublishMode.ASYNC) {
+                enqueue(this, value ? 1 : 0, null);
+            } else {
+                pub.set(value);
+            }
+        }
+
+        @Override
+        void publishStaged(long time) {
+            pub.set(pending, time);
+        }
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {
+            pub.set(number != 0, time);
+        }
+
+        /**
+         * Reads the current value of the topic.
+         * @param defaultValue The value to return if the topic has no value.
+         * @return The value from NetworkTables.
+         */
+        public boolean get(boolean defaultValue) {
+            if (sub == null) {
+                sub = (BooleanSubscriber) subscribers.computeIfAbsent(path, k ->
+                    inst.getTable(table).getBooleanTopic(key).subscribe(defaultValue));
+            }
+            return sub.get(defaultValue);
+        }
+    }
+
+    /**
+     * Pre-resolved String topic. Obtain it with {@link NetworkIO#stringHandle(String, String)}.
+     */
+    public static final class StringHandle extends StagedHandle {
+        private final String path;
+        private final StringPublisher pub;
+        private String pending;
+
+        private StringHandle(String path, StringPublisher pub) {
+            this.path = path;
+            this.pub = pub;
+        }
+
+        /**
+         * Publishes a value.
+         * @param value The value to publish (ignored if null).
+         */
+        public void set(String value) {
+            if (value == null) return;
+            if (TelemetryLog.active) TelemetryLog.logString(logColumn(path, LogColumn.STRING), value);
+            if (publishMode == PublishMode.BATCHED) {
+                pending = value;
+                stage(this);
+            } else if (publishMode == PublishMode.ASYNC) {
+                enqueue(this, 0, value);
+            } else {
+                pub.set(value);
+            }
+        }
+
+        @Override
+        void publishStaged(long time) {
+            pub.set(pending, time);
+        }
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {
+            pub.set((String) ref, time);
+        }
+    }
+
+    /**
+     * Pre-resolved struct topic. Obtain it with {@link NetworkIO#structHandle(String, String)}.
+     * <p>
+     * Values are packed through the cached {@link Struct} into a reused, direct
+     * little-endian {@link ByteBuffer} and published as raw bytes, so publishing allocates nothing.
+     * {@link #setIfChanged(Object)} compares the packed bytes with the last published ones, which
+     * is exact (no tolerance-based {@code equals}) and allocation-free.
+     * </p>
+     */
+    public static final class StructHandle extends StagedHandle {
+        private final String table;
+        private final String key;
+        private final String path;
+        private Struct<Object> struct;
+        private RawPublisher pub;
+        private ByteBuffer packed;      // Robot thread
+        private ByteBuffer previous;    // Last published bytes (setIfChanged)
+        private boolean hasPrevious = false;
+
+        private StructHandle(String table, String key, String path) {
+            this.table = table;
+            this.key = key;
+            this.path = path;
+        }
+
+        /**
+         * Publishes a struct value (e.g. a {@code Pose2d}).
+         * @param value The value to publish (ignored if null).
+         */
+        public void set(Object value) {
+            if (value == null || !resolve(value)) return;
+            // Packed on the caller's thread, so ASYNC publishes the value as it was at set() time
+            pack(packed, value);
+            log();
+            publishPacked();
+        }
+
+        /**
+         * Publishes a struct value only if its packed bytes differ from the last value published
+         * through this method.
+         * @param value The value to publish (ignored if null).
+         * @return True if the value changed (and was published).
+         */
+        public boolean setIfChanged(Object value) {
+            if (!packIfChanged(value)) return false;
+            publishLastPacked();
+            return true;
+        }
+
+        /**
+         * Packs a value and compares it with the last one published through {@link #setIfChanged(Object)}
+         * or {@link #publishLastPacked()}, without publishing it.
+         * @return True if the packed bytes differ; false if they do not or the value cannot be published.
+         */
+        boolean packIfChanged(Object value) {
+            if (value == null || !resolve(value)) return false;
+            pack(packed, value);
+            return !hasPrevious || packed.mismatch(previous) >= 0;
+        }
+
+        /**
+         * Publishes the value packed by the last {@link #packIfChanged(Object)}, changed or not
+         * (e.g. a heartbeat), and remembers its bytes.
+         */
+        void publishLastPacked() {
+            if (pub == null) return;
+            previous.put(0, packed, 0, packed.capacity());
+            hasPrevious = true;
+            log();
+            publishPacked();
+        }
+
+        private void log() {
+            if (TelemetryLog.active) TelemetryLog.logRaw(logColumn(path, LogColumn.RAW), packed, packed.capacity());
+        }
+
+        private void publishPacked() {
+            if (publishMode == PublishMode.BATCHED) {
+                stage(this);
+            } else if (publishMode == PublishMode.ASYNC) {
+                enqueueBytes(this, packed, packed.capacity());
+            } else {
+                pub.set(packed, 0, packed.capacity());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean resolve(Object value) {
+            if (pub != null) return true;
+
+            Struct<Object> found = (Struct<Object>) getStructForClass(value.getClass());
+            if (found == null) {
+                System.err.println("[NetworkIO] Error: No .struct found for class " + value.getClass().getSimpleName());
+                return false;
+            }
+            Publisher resolved = publishers.computeIfAbsent(path, k -> createStructPublisher(table, key, found));
+            if (!(resolved instanceof RawPublisher)) return false;
+
+            struct = found;
+            packed = allocate(found);
+            previous = allocate(found);
+            pub = (RawPublisher) resolved;
+            return true;
+        }
+
+        private void pack(ByteBuffer buffer, Object value) {
+            buffer.clear();
+            struct.pack(buffer, value);
+            buffer.clear();
+        }
+
+        private static ByteBuffer allocate(Struct<?> struct) {
+            return ByteBuffer.allocateDirect(struct.getSize()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        @Override
+        void publishStaged(long time) {
+            pub.set(packed, 0, packed.capacity(), time);
+        }
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {}
+
+        @Override
+        void publishBytes(byte[] bytes, int length, long time) {
+            pub.set(bytes, 0, length, time);
+        }
+    }
+
+    /**
+     * Pre-resolved integer topic. Obtain it with {@link NetworkIO#integerHandle(String, String)}.
+     */
+    public static final class IntegerHandle extends StagedHandle {
+        private final String path;
+        private final IntegerPublisher pub;
+        private long pending;
+
+        private IntegerHandle(String path, IntegerPublisher pub) {
+            this.path = path;
+            this.pub = pub;
+        }
+
+        /**
+         * Publishes a value.
+         * @param value The value to publish.
+         */
+        public void set(long value) {
+            if (TelemetryLog.active) TelemetryLog.logLong(logColumn(path, LogColumn.LONG), value);
+            if (publishMode == PublishMode.BATCHED) {
+                pending = value;
+                stage(this);
+            } else if (publishMode == PublishMode.ASYNC) {
+                enqueue(this, value);
+            } else {
+                pub.set(value);
+            }
+        }
+
+        @Override
+        void publishStaged(long time) {
+            pub.set(pending, time);
+        }
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {
+            pub.set(integer, time);
+        }
+    }
+
+    /**
+     * Pre-resolved array topic (primitive, String or struct arrays).
+     * Obtain it with {@link NetworkIO#arrayHandle(String, String)}.
+     * <p>
+     * In {@code BATCHED} mode the array is published by reference at {@link NetworkIO#flush()}:
+     * assign a new array instead of mutating the published one if every sample matters.
+     * In {@code ASYNC} mode it is copied on the calling thread, so it may be reused right away.
+     * </p>
+     * <p>
+     * For struct arrays that are mostly static between cycles (trajectories, vision target lists),
+     * {@link #setSkipUnchanged(boolean)} skips publishing when the packed bytes are identical to the
+     * last published array. NT values are atomic, so a changed array is always sent whole.
+     * </p>
+     */
+    public static final class ArrayHandle extends StagedHandle {
+        private final String table;
+        private final String key;
+        private final String path;
+        private Publisher pub;
+        private Object pending;
+        private final ArrayScratch scratch = new ArrayScratch();   // Publishing thread
+        private final ArrayScratch changes = new ArrayScratch();   // Robot thread (skip unchanged, async copies)
+        private ArrayScratch direct;                               // Path-based setter (created on first use)
+        private boolean skipUnchanged = false;
+
+        private ArrayHandle(String table, String key, String path) {
+            this.table = table;
+            this.key = key;
+            this.path = path;
+        }
+
+        /**
+         * Skips publishing struct arrays whose packed bytes did not change (default false).
+         * Other array types are always published.
+         * @param enabled True to skip unchanged struct arrays.
+         */
+        public void setSkipUnchanged(boolean enabled) {
+            skipUnchanged = enabled;
+        }
+
+        /**
+         * Publishes an array (e.g. {@code double[]}, {@code int[]}, {@code Pose2d[]}).
+         * @param value The array to publish (ignored if null).
+         */
+        public void set(Object value) {
+            if (value == null) return;
+            if (pub == null) {
+                pub = publishers.computeIfAbsent(path, k -> createArrayPublisher(table, key, value.getClass()));
+                if (pub == null) return;
+            }
+            int bytes = -1;
+            if (skipUnchanged && pub instanceof RawPublisher) {
+                bytes = changes.packStructs((Object[]) value);
+                if (!changes.rememberIfChanged(bytes)) return;
+                if (publishMode == PublishMode.IMMEDIATE) {
+                    // Already packed: publish the bytes that were just compared
+                    ((RawPublisher) pub).set(changes.structs, 0, bytes);
+                    return;
+                }
+            }
+            if (publishMode == PublishMode.BATCHED) {
+                pending = value;
+                stage(this);
+            } else if (publishMode == PublishMode.ASYNC) {
+                // Copied now: the publisher thread must not see later changes to the caller's array
+                if (value instanceof String[]) {
+                    enqueue(this, 0, ((String[]) value).clone());
+                    return;
+                }
+                if (bytes < 0) bytes = changes.pack(value);
+                enqueueBytes(this, changes.structs, bytes);
+            } else {
+                writeArray(pub, value, 0, scratch);
+            }
+        }
+
+        /**
+         * Publishes at once, whatever the publish mode (path-based {@code NetworkIO.set}).
+         */
+        private void publishNow(Object value) {
+            if (pub == null) {
+                pub = publishers.computeIfAbsent(path, k -> createArrayPublisher(table, key, value.getClass()));
+                if (pub == null) return;
+            }
+            if (direct == null) direct = new ArrayScratch();
+            writeArray(pub, value, 0, direct);
+        }
+
+        @Override
+        void publishStaged(long time) {
+            writeArray(pub, pending, time, scratch);
+        }
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {
+            writeArray(pub, ref, time, scratch);
+        }
+
+        @Override
+        void publishBytes(byte[] bytes, int length, long time) {
+            scratch.publishPacked(pub, bytes, length, time);
+        }
+    }
+
     // ============================================================
     //  UTILITIES
     // ============================================================
     
     /**
      * Closes all publishers and subscribers associated with a specific table.
+     * <p>
+     * Handles obtained for that table become invalid; request new ones if you keep publishing.
+     * </p>
      * @param tableName The name of the table to clean up.
      */
     public static void closeAll(String tableName) {
         String prefix = tableName + "/";
+        handles.keySet().removeIf(path -> path.startsWith(prefix));
+        AutoPublishPlan.forget(prefix);
+        arrayHandlesByTable.keySet().removeIf(table -> (table + "/").startsWith(prefix));
         publishers.entrySet().removeIf(e -> checkAndClose(e, prefix));
         subscribers.entrySet().removeIf(e -> checkAndClose(e, prefix));
     }
@@ -25,7 +25,49 @@ public @interface Signal {
 
     /**
      * Updates the value only once every N cycles (Slow Scale).
+     * <p>
+     * Signals sharing the same scale are phase-staggered, so they don't all fire on the same cycle.
+     * </p>
      * @return The number of cycles to skip (1 = every cycle).
      */
     int slowScale() default 1;
+
+    /**
+     * Absolute deadband for {@code onChange} numeric signals: smaller changes are not published.
+     * @return The minimum change (default: 1e-5).
+     */
+    double deadband() default 1e-5;
+
+    /**
+     * Relative deadband for {@code onChange} numeric signals, as a fraction of the last published
+     * value (e.g. 0.01 = 1%). The larger of the two deadbands applies.
+     * @return The minimum relative change (default: 0, disabled).
+     */
+    double relativeDeadband() default 0;
+
+    /**
+     * Minimum time between two publishes of an {@code onChange} signal. A change that arrives
+     * sooner is published when the period ends (if the value still differs).
+     * @return The minimum period in milliseconds (default: 0, disabled).
+     */
+    long minPeriodMs() default 0;
+
+    /**
+     * Maximum silence of an {@code onChange} signal: an unchanged value is republished after this
+     * long, so a quiet signal can be told apart from a dead one.
+     * @return The heartbeat period in milliseconds (default: 0, disabled).
+     */
+    long heartbeatMs() default 0;
+
+    /**
+     * Scheduling priority when a per-loop signal budget is set
+     * (see {@link IOSubsystem#setSignalBudget(double)}).
+     * <p>
+     * Higher values run first among the signals of the same subsystem (subsystems run in
+     * CommandScheduler order). When the budget is exhausted, signals below the protected priority
+     * (default: 1) are deferred to the next cycle.
+     * </p>
+     * @return The priority (default: 0).
+     */
+    int priority() default 0;
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.stzteam.forgemini.io;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Time filters of an {@code onChange} {@link Signal}.
+ * <p>
+ * <b>Minimum period:</b> a change is not published sooner than {@link Signal#minPeriodMs()} after the
+ * previous publish. The change is not lost: the task keeps comparing against the last
+ * <i>published</i> value, so it goes out as soon as the period ends.
+ * </p>
+ * <p>
+ * <b>Heartbeat:</b> an unchanged value is republished after {@link Signal#heartbeatMs()} of silence,
+ * so dashboards and logs can tell a quiet signal from a dead one.
+ * </p>
+ * <p>
+ * The clock ({@link System#nanoTime()} by default) is only read when one of the two is configured.
+ * </p>
+ */
+final class SignalGate {
+
+    private final long minPeriodNanos;
+    private final long heartbeatNanos;
+    private final boolean timed;
+    private final LongSupplier clock;
+
+    private boolean hasPublished = false;
+    private long lastPublishNanos = 0;
+    private long now = 0;
+
+    SignalGate(Signal config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * @param config The signal configuration.
+     * @param clock Returns the current time in nanoseconds.
+     */
+    SignalGate(Signal config, LongSupplier clock) {
+        this.clock = clock;
+        this.minPeriodNanos = Math.max(0, config.minPeriodMs()) * 1_000_000L;
+        this.heartbeatNanos = Math.max(0, config.heartbeatMs()) * 1_000_000L;
+        this.timed = minPeriodNanos > 0 || heartbeatNanos > 0;
+    }
+
+    /**
+     * @return True until the first publish (the first value always goes out).
+     */
+    boolean isFirst() {
+        return !hasPublished;
+    }
+
+    /**
+     * Decides whether to publish this cycle.
+     * @param changed True if the value differs from the last published one.
+     * @return True if the task should publish now (then call {@link #published()}).
+     */
+    boolean shouldPublish(boolean changed) {
+        if (timed) now = clock.getAsLong();
+        if (!hasPublished) return true;
+        if (!timed) return changed;
+
+        long silence = now - lastPublishNanos;
+        if (changed) return silence >= minPeriodNanos;
+        return heartbeatNanos > 0 && silence >= heartbeatNanos;
+    }
+
+    /**
+     * Records a publish.
+     */
+    void published() {
+        hasPublished = true;
+        lastPublishNanos = now;
+    }
+}
@@ -0,0 +1,186 @@
+package com.stzteam.forgemini.io;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Global, time-budgeted scheduler for {@link Signal} tasks.
+ * <p>
+ * <b>Phase staggering:</b> signals with the same {@link Signal#slowScale()} get consecutive phase
+ * offsets inside their N-cycle window, across every subsystem. Ten signals with
+ * {@code slowScale = 10} fire one per cycle instead of all on the same cycle.
+ * </p>
+ * <p>
+ * <b>Budget:</b> when a per-loop budget is set ({@link IOSubsystem#setSignalBudget(double)}), the time
+ * spent publishing signals is accumulated across all subsystems. Once exhausted, due signals below the
+ * protected priority are deferred to the next cycle. Ordering is per subsystem (one {@link Queue} each,
+ * run in CommandScheduler order): signals deferred on the previous cycle run first, then the rest in
+ * descending {@link Signal#priority()} order.
+ * A signal is never deferred more than {@value #MAX_DEFERRALS} cycles in a row.
+ * </p>
+ * <p>
+ * A new robot loop is detected when a subsystem runs its signals a second time; this assumes each
+ * subsystem's {@code periodic()} runs once per loop (the CommandScheduler guarantees it).
+ * </p>
+ */
+final class SignalScheduler {
+
+    /** Starvation guard: a deferred signal always runs after this many consecutive deferrals. */
+    static final int MAX_DEFERRALS = 10;
+
+    // Next phase offset to hand out, per slowScale value
+    private static final Map<Integer, Integer> nextPhase = new HashMap<>();
+
+    // Budget configuration (0 = unlimited)
+    private static long budgetNanos = 0;
+    private static int protectedPriority = 1;
+
+    // Per-loop state (robot thread only)
+    private static long loopId = 0;
+    private static long spentNanos = 0;
+    private static long deferredTotal = 0;
+
+    // Time source of the budget, in nanoseconds (replaced in tests)
+    private static LongSupplier clock = System::nanoTime;
+
+    private SignalScheduler() {}
+
+    static void setBudget(double micros) {
+        budgetNanos = Math.max(0, (long) (micros * 1000));
+    }
+
+    static void setProtectedPriority(int priority) {
+        protectedPriority = priority;
+    }
+
+    static long deferredCount() {
+        return deferredTotal;
+    }
+
+    /**
+     * Replaces the time source used to measure the budget.
+     * @param nanoTime Returns the current time in nanoseconds.
+     */
+    static void setClock(LongSupplier nanoTime) {
+        clock = nanoTime;
+    }
+
+    /**
+     * Restores the startup state: no phases handed out, no budget, default protected priority,
+     * {@link System#nanoTime()} as the clock. Queues created before keep their own phases.
+     */
+    static synchronized void reset() {
+        nextPhase.clear();
+        budgetNanos = 0;
+        protectedPriority = 1;
+        loopId = 0;
+        spentNanos = 0;
+        deferredTotal = 0;
+        clock = System::nanoTime;
+    }
+
+    /**
+     * Hands out the next phase offset for a period, so equal periods are spread evenly.
+     */
+    private static synchronized int phaseFor(int period) {
+        int phase = nextPhase.getOrDefault(period, 0);
+        nextPhase.put(period, (phase + 1) % period);
+        return phase;
+    }
+
+    /**
+     * One scheduled signal.
+     */
+    private static final class Task {
+        final Runnable publish;
+        final int period;
+        final int priority;
+        int countdown;
+        int deferrals = 0;
+        long visitedLoop = -1;
+
+        Task(Runnable publish, int period, int priority) {
+            this.publish = publish;
+            this.period = period;
+            this.priority = priority;
+            this.countdown = phaseFor(period) + 1;
+        }
+    }
+
+    /**
+     * The signals of one subsystem, ordered by priority.
+     */
+    static final class Queue {
+        private Task[] tasks = new Task[0];
+        private long lastLoop = -1;
+
+        /**
+         * Adds a signal task.
+         * @param publish Reads, filters and publishes the value once.
+         * @param config The signal configuration (slowScale, priority).
+         */
+        void add(Runnable publish, Signal config) {
+            Task task = new Task(publish, Math.max(1, config.slowScale()), config.priority());
+
+            // Stable insert: higher priority first, registration order among equals
+            int index = tasks.length;
+            while (index > 0 && tasks[index - 1].priority < task.priority) index--;
+            Task[] grown = Arrays.copyOf(tasks, tasks.length + 1);
+            System.arraycopy(grown, index, grown, index + 1, tasks.length - index);
+            grown[index] = task;
+            tasks = grown;
+        }
+
+        /**
+         * Runs the signals that are due this cycle, within the global budget.
+         */
+        void run() {
+            if (lastLoop == loopId) {
+                loopId++;
+                spentNanos = 0;
+            }
+            lastLoop = loopId;
+
+            if (budgetNanos <= 0) {
+                for (int i = 0; i < tasks.length; i++) {
+                    Task task = tasks[i];
+                    if (--task.countdown > 0) continue;
+                    task.countdown = task.period;
+                    task.publish.run();
+                }
+                return;
+            }
+
+            // Pass 1 (aging): signals deferred last cycle go first, so equal priorities take turns.
+            // Pass 2: everything else, in priority order.
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < tasks.length; i++) {
+                    Task task = tasks[i];
+                    if (task.visitedLoop == loopId) continue;
+                    if (pass == 0 && task.deferrals == 0) continue;
+                    task.visitedLoop = loopId;
+                    runBudgeted(task);
+                }
+            }
+        }
+
+        private void runBudgeted(Task task) {
+            if (--task.countdown > 0) return;
+
+            if (spentNanos >= budgetNanos && task.priority < protectedPriority && task.deferrals < MAX_DEFERRALS) {
+                task.countdown = 1; // Still due: retry next cycle
+                task.deferrals++;
+                deferredTotal++;
+                return;
+            }
+
+            task.countdown = task.period;
+            task.deferrals = 0;
+            long start = clock.getAsLong();
+            task.publish.run();
+            spentNanos += clock.getAsLong() - start;
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package com.stzteam.forgemini.io;
+
+import edu.wpi.first.networktables.NetworkTablesJNI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compact on-robot telemetry log ({@code .flog}).
+ * <p>
+ * While active, every value published through {@link NetworkIO} handles and primitive setters is
+ * also recorded into a columnar, compressed file: one column per topic, encoded in chunks
+ * (Gorilla XOR doubles, varint timestamps and integer deltas, bit-packed booleans,
+ * dictionary-coded strings, deduplicated struct bytes; see {@link LogColumn}).
+ * </p>
+ * <p>
+ * <b>Asynchronous:</b> the publishing thread only copies the value and its timestamp into a
+ * preallocated ring ({@link LogRing}); it never blocks on flash I/O. A background writer thread
+ * encodes the records and appends them to a single append-only file through a sliding
+ * memory-mapped window ({@link LogFile}), forcing it to storage (fsync) every
+ * {@link #configure(int, double) fsync period}. When the ring is full,
+ * records are dropped and counted ({@link #getOverflowCount()}, published by {@code Optimizer}).
+ * </p>
+ * <p>
+ * <b>Opt-in per table:</b> by default every table is recorded; once {@link #recordTable(String)}
+ * is called, only the listed tables are.
+ * </p>
+ * <h3>File layout:</h3>
+ * <ul>
+ * <li>Header: {@code "FLOG"} + version byte.</li>
+ * <li>{@code COLUMN} block: type, varint id, kind, varint name length, UTF-8 name.</li>
+ * <li>{@code STRING} block: type, varint dictionary id, varint length, UTF-8 bytes.</li>
+ * <li>{@code CHUNK} block: type, varint column id, count, first time, times length, values length,
+ * then the two streams.</li>
+ * </ul>
+ * <p>
+ * Primitive arrays are not recorded (they stay in {@code .wpilog}). Timestamps use the NT time
+ * base (microseconds). {@link TelemetryLogReader} decodes the files.
+ * </p>
+ * <pre>
+ * TelemetryLog.recordTable("Shooter");
+ * TelemetryLog.start("/home/lvuser/logs");
+ * </pre>
+ */
+public final class TelemetryLog {
+
+    static final byte BLOCK_COLUMN = 1;
+    static final byte BLOCK_CHUNK = 2;
+    static final byte BLOCK_STRING = 3;
+
+    static final byte[] HEADER = { 'F', 'L', 'O', 'G', 1 };
+    private static final int MAX_DICTIONARY = 4096;
+    private static final long DRAIN_PERIOD_NANOS = 20_000_000; // 20ms
+    private static final int ARENA_BYTES = 256 * 1024;
+
+    /** Checked by the publish paths before doing any logging work. */
+    static volatile boolean active = false;
+
+    // Configuration
+    private static int ringCapacity = 8192;
+    private static long fsyncPeriodNanos = 1_000_000_000L;
+    private static final Set<String> tables = ConcurrentHashMap.newKeySet();
+
+    // Columns live across files; each file re-defines the ones it uses
+    private static final ConcurrentHashMap<String, LogColumn> columns = new ConcurrentHashMap<>();
+    private static volatile LogRing ring;
+
+    // Writer thread state (only touched by the writer while it runs)
+    private static final List<LogColumn> fileColumns = new ArrayList<>();
+    private static final HashMap<String, Integer> dictionary = new HashMap<>();
+    private static LogFile file;
+    private static int generation = 0;
+
+    private static Thread writer;
+    private static volatile boolean running = false;
+    private static volatile boolean flushRequested = false;
+    private static Path filePath;
+    private static boolean hookInstalled = false;
+
+    private TelemetryLog() {}
+
+    // ============================================================
+    //  CONFIGURATION
+    // ============================================================
+
+    /**
+     * Configures the logger. Call before the first {@link #start(String)}.
+     * @param capacity The number of records the ring can hold (rounded up to a power of two, default 8192).
+     * @param fsyncPeriodMs How often buffered chunks are written and forced to storage
+     * (default 1000ms; 0 = only when a mapped window fills up and on stop).
+     */
+    public static synchronized void configure(int capacity, double fsyncPeriodMs) {
+        if (ring == null) ringCapacity = Math.max(16, capacity);
+        else System.err.println("[TelemetryLog] Ring capacity can only be set before the first start()");
+        fsyncPeriodNanos = Math.max(0, (long) (fsyncPeriodMs * 1e6));
+    }
+
+    /**
+     * Opts a table in: once any table is listed, only listed tables are recorded.
+     * @param table The table name (e.g. "Shooter"; its sub tables are included).
+     */
+    public static void recordTable(String table) {
+        tables.add(table);
+        for (LogColumn column : columns.values()) column.recorded = isRecorded(column.path);
+    }
+
+    private static boolean isRecorded(String path) {
+        if (tables.isEmpty()) return true;
+        for (String table : tables) {
+            if (path.startsWith(table + "/")) return true;
+        }
+        return false;
+    }
+
+    // ============================================================
+    //  LIFECYCLE
+    // ============================================================
+
+    /**
+     * Starts recording into a new {@code forge_<date>_<millis>.flog} file (stops the current one first).
+     * @param directory The folder to write to (created if needed).
+     * @return The new file, or {@code null} if it could not be created or the previous writer
+     * is still closing its file.
+     */
+    public static synchronized Path start(String directory) {
+        stop();
+        if (writer != null) {
+            // The old writer still owns the file and the writer state: never run two at once
+            System.err.println("[TelemetryLog] Previous writer is still closing its file, not starting a new log");
+            return null;
+        }
+        try {
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            String name = "forge_" + new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date()) + ".flog";
+            Path path = dir.resolve(name);
+            file = new LogFile(path);
+            file.reserve(HEADER.length).put(HEADER);
+            filePath = path;
+        } catch (IOException e) {
+            System.err.println("[TelemetryLog] Could not start log: " + e.getMessage());
+            file = null;
+            return null;
+        }
+
+        generation++;
+        fileColumns.clear();
+        dictionary.clear();
+        if (ring == null) ring = new LogRing(ringCapacity, ARENA_BYTES);
+        if (!hookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(TelemetryLog::stop, "ForgeMini-LogClose"));
+            hookInstalled = true;
+        }
+
+        running = true;
+        writer = new Thread(TelemetryLog::runWriter, "ForgeMini-LogWriter");
+        writer.setDaemon(true);
+        writer.start();
+        active = true;
+        System.out.println("[TelemetryLog] Recording to " + filePath);
+        return filePath;
+    }
+
+    /**
+     * Stops recording: the writer drains the queue, writes the buffered chunks and closes the file.
+     * Does nothing if not recording.
+     * <p>
+     * Waits up to 2 seconds. If the writer is still busy after that (slow flash), it keeps closing
+     * the file in the background and {@link #start(String)} refuses to start until it has finished.
+     * </p>
+     */
+    public static synchronized void stop() {
+        if (writer == null) return;
+        active = false;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("[TelemetryLog] Writer did not stop in time, still closing " + filePath);
+            return;
+        }
+        writer = null;
+    }
+
+    /**
+     * Asks the writer to write every buffered chunk and fsync now (asynchronous).
+     */
+    public static void flush() {
+        flushRequested = true;
+        Thread current = writer;
+        if (current != null) LockSupport.unpark(current);
+    }
+
+    /**
+     * @return True while recording.
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return The file being recorded (or the last one), or {@code null}.
+     */
+    public static synchronized Path getFile() {
+        return filePath;
+    }
+
+    /**
+     * @return The total number of records dropped because the queue was full.
+     */
+    public static long getOverflowCount() {
+        LogRing current = ring;
+        return current == null ? 0 : current.overflowCount();
+    }
+
+    // ============================================================
+    //  RECORDING (publishing threads, called by NetworkIO)
+    // ============================================================
+
+    /**
+     * Gets the column of a topic, creating it on first use. Handles keep the result.
+     */
+    static LogColumn column(String path, byte kind) {
+        LogColumn column = columns.get(path);
+        if (column == null) {
+            column = columns.computeIfAbsent(path, k -> {
+                LogColumn created = new LogColumn(k, kind);
+                created.recorded = isRecorded(k);
+                return created;
+            });
+        }
+        return column;
+    }
+
+    static void logDouble(LogColumn column, double value) {
+        if (column.recorded && column.kind == LogColumn.DOUBLE) {
+            ring.offer(column, Double.doubleToRawLongBits(value), null, NetworkTablesJNI.now());
+        }
+    }
+
+    static void logLong(LogColumn column, long value) {
+        if (column.recorded && column.kind == LogColumn.LONG) {
+            ring.offer(column, value, null, NetworkTablesJNI.now());
+        }
+    }
+
+    static void logBoolean(LogColumn column, boolean value) {
+        if (column.recorded && column.kind == LogColumn.BOOLEAN) {
+            ring.offer(column, value ? 1 : 0, null, NetworkTablesJNI.now());
+        }
+    }
+
+    static void logString(LogColumn column, String value) {
+        if (value != null && column.recorded && column.kind == LogColumn.STRING) {
+            ring.offer(column, 0, value, NetworkTablesJNI.now());
+        }
+    }
+
+    /**
+     * @param bytes The packed value at {@code [0, length)} (copied, not consumed).
+     */
+    static void logRaw(LogColumn column, ByteBuffer bytes, int length) {
+        if (column.recorded && column.kind == LogColumn.RAW) {
+            ring.offerRaw(column, bytes, length, NetworkTablesJNI.now());
+        }
+    }
+
+    // ============================================================
+    //  WRITER THREAD
+    // ============================================================
+
+    private static void runWriter() {
+        try {
+            long nextSync = System.nanoTime() + fsyncPeriodNanos;
+            while (running && file != null) {
+                int drained = ring.drain();
+
+                long now = System.nanoTime();
+                if (flushRequested || (fsyncPeriodNanos > 0 && now >= nextSync)) {
+                    flushRequested = false;
+                    writeAllChunks();
+                    sync();
+                    nextSync = now + fsyncPeriodNanos;
+                }
+                if (drained == 0) LockSupport.parkNanos(DRAIN_PERIOD_NANOS);
+            }
+
+            // Final drain, then close
+            if (file == null) return;
+            ring.drain();
+            writeAllChunks();
+        } catch (RuntimeException e) {
+            // An encoder bug must not leave the log "active" with nobody draining the ring
+            fail(e);
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            System.err.println("[TelemetryLog] Could not close log: " + e.getMessage());
+        }
+        file = null;
+    }
+
+    /**
+     * Encodes one numeric or String record (writer thread).
+     */
+    static void encode(LogColumn column, long value, Object ref, long time) {
+        switch (column.kind) {
+            case LogColumn.DOUBLE:
+                if (prepare(column, time, 0)) column.addDouble(time, Double.longBitsToDouble(value));
+                break;
+            case LogColumn.LONG:
+                if (prepare(column, time, 0)) column.addLong(time, value);
+                break;
+            case LogColumn.BOOLEAN:
+                if (prepare(column, time, 0)) column.addBoolean(time, value != 0);
+                break;
+            case LogColumn.STRING:
+                encodeString(column, (String) ref, time);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Encodes one raw (struct) record (writer thread).
+     */
+    static void encodeRaw(LogColumn column, byte[] source, int offset, int length, long time) {
+        if (prepare(column, time, length)) column.addRaw(time, source, offset, length);
+    }
+
+    private static void encodeString(LogColumn column, String value, long time) {
+        Integer id = dictionary.get(value);
+        byte[] literal = null;
+        if (id == null) {
+            literal = LogColumn.utf8(value);
+            if (dictionary.size() < MAX_DICTIONARY && file != null) {
+                id = dictionary.size() + 1;
+                dictionary.put(value, id);
+                writeString(id, literal);
+            } else {
+                id = 0; // Dictionary full: write inline
+            }
+        }
+        if (prepare(column, time, id == 0 ? literal.length : 0)) {
+            column.addString(time, id, literal);
+        }
+    }
+
+    /**
+     * Makes sure the column is defined in the current file and has room for one more sample.
+     * @return False if the sample must be dropped (not recording).
+     */
+    private static boolean prepare(LogColumn column, long time, int extraBytes) {
+        if (file == null) return false;
+        if (column.generation != generation) {
+            defineColumn(column);
+        } else if (column.isFull(time, extraBytes)) {
+            writeChunk(column);
+        }
+        return file != null;
+    }
+
+    private static void writeAllChunks() {
+        for (int i = 0; i < fileColumns.size() && file != null; i++) {
+            LogColumn column = fileColumns.get(i);
+            if (!column.isEmpty()) writeChunk(column);
+        }
+    }
+
+    private static void defineColumn(LogColumn column) {
+        column.reset(fileColumns.size(), generation);
+        fileColumns.add(column);
+
+        byte[] name = LogColumn.utf8(column.path);
+        try {
+            ByteBuffer out = file.reserve(1 + 5 + 1 + 5 + name.length);
+            out.put(BLOCK_COLUMN);
+            LogColumn.putVarLong(out, column.id);
+            out.put(column.kind);
+            LogColumn.putVarLong(out, name.length);
+            out.put(name);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private static void writeString(int id, byte[] bytes) {
+        try {
+            ByteBuffer out = file.reserve(1 + 5 + 5 + bytes.length);
+            out.put(BLOCK_STRING);
+            LogColumn.putVarLong(out, id);
+            LogColumn.putVarLong(out, bytes.length);
+            out.put(bytes);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private static void writeChunk(LogColumn column) {
+        try {
+            column.writeChunk(file.reserve(column.encodedSize()));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private static void sync() {
+        if (file == null) return;
+        try {
+            file.sync();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Stops recording after an I/O error (e.g. disk full) or an encoder failure; the robot keeps running.
+     */
+    private static void fail(Exception e) {
+        System.err.println("[TelemetryLog] Write failed, recording stopped: " + e);
+        active = false;
+        running = false;
+        if (file == null) return;
+        try {
+            file.close();
+        } catch (IOException ignored) {}
+        file = null;
+    }
+}
@@ -0,0 +1,236 @@
+package com.stzteam.forgemini.io;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <b>TelemetryLogReader</b>
+ * <p>
+ * Decodes the {@code .flog} files written by {@link TelemetryLog} (format described there and in
+ * {@link LogColumn}), calling a {@link Visitor} for every sample in file order.
+ * </p>
+ * <h3>Usage Example:</h3>
+ * <pre>
+ * TelemetryLogReader.read(Path.of("forge_20260301_101500_000.flog"), new TelemetryLogReader.Visitor() {
+ *     &#64;Override
+ *     public void onDouble(String path, long time, double value) {
+ *         System.out.println(time + "," + path + "," + value);
+ *     }
+ * });
+ * </pre>
+ * <p>
+ * A log cut short (e.g. power loss) is decoded up to its last complete block. Zeros where a block
+ * should start are the unused end of the writer's mapped window and end the log.
+ * </p>
+ */
+public final class TelemetryLogReader {
+
+    /**
+     * Receives the decoded samples. Timestamps are NT time, in microseconds.
+     */
+    public interface Visitor {
+        default void onDouble(String path, long time, double value) {}
+        default void onLong(String path, long time, long value) {}
+        default void onBoolean(String path, long time, boolean value) {}
+        default void onString(String path, long time, String value) {}
+        default void onRaw(String path, long time, byte[] value) {}
+    }
+
+    private TelemetryLogReader() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Decodes a log file.
+     * @param file The {@code .flog} file.
+     * @param visitor Receives every sample.
+     * @return False if the file ends with a truncated block (everything before it was decoded).
+     * @throws IOException If the file cannot be read or is not a valid log.
+     */
+    public static boolean read(Path file, Visitor visitor) throws IOException {
+        return read(ByteBuffer.wrap(Files.readAllBytes(file)), visitor);
+    }
+
+    /**
+     * Decodes a log held in memory, from the buffer's position to its limit.
+     * @param in The log bytes.
+     * @param visitor Receives every sample.
+     * @return False if the log ends with a truncated block (everything before it was decoded).
+     * @throws IOException If the bytes are not a valid log.
+     */
+    public static boolean read(ByteBuffer in, Visitor visitor) throws IOException {
+        for (byte b : TelemetryLog.HEADER) {
+            if (!in.hasRemaining() || in.get() != b) throw new IOException("not a ForgeMini log (or unsupported version)");
+        }
+
+        Map<Integer, String> paths = new HashMap<>();
+        Map<Integer, Byte> kinds = new HashMap<>();
+        Map<Integer, String> dictionary = new HashMap<>();
+
+        while (in.hasRemaining()) {
+            int start = in.position();
+            try {
+                byte block = in.get();
+                if (block == 0) return true; // Unused end of the mapped window
+                switch (block) {
+                    case TelemetryLog.BLOCK_COLUMN -> {
+                        int id = (int) getVarLong(in);
+                        byte kind = in.get();
+                        paths.put(id, getString(in, (int) getVarLong(in)));
+                        kinds.put(id, kind);
+                    }
+                    case TelemetryLog.BLOCK_STRING -> {
+                        int id = (int) getVarLong(in);
+                        dictionary.put(id, getString(in, (int) getVarLong(in)));
+                    }
+                    case TelemetryLog.BLOCK_CHUNK -> {
+                        int id = (int) getVarLong(in);
+                        int count = (int) getVarLong(in);
+                        long firstTime = getVarLong(in);
+                        int timesLength = (int) getVarLong(in);
+                        int valuesLength = (int) getVarLong(in);
+                        ByteBuffer times = slice(in, timesLength);
+                        ByteBuffer values = slice(in, valuesLength);
+
+                        String path = paths.get(id);
+                        if (path == null) throw new IOException("chunk for undefined column " + id);
+                        decodeChunk(path, kinds.get(id), count, firstTime, times, values, dictionary, visitor);
+                    }
+                    default -> throw new IOException("unknown block " + block + " at offset " + start);
+                }
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ============================================================
+    //  CHUNK DECODING
+    // ============================================================
+
+    private static void decodeChunk(String path, byte kind, int count, long firstTime, ByteBuffer times,
+                                    ByteBuffer values, Map<Integer, String> dictionary, Visitor visitor)
+            throws IOException {
+        BitReader bits = new BitReader(values);
+        long time = firstTime;
+
+        // Encoder state restarts every chunk
+        long prevBits = 0;
+        int leading = 0;
+        int trailing = 0;
+        long prevLong = 0;
+        byte[] prevRaw = null;
+
+        for (int i = 0; i < count; i++) {
+            if (i > 0) time += unzigzag(getVarLong(times));
+
+            switch (kind) {
+                case LogColumn.DOUBLE -> {
+                    if (i == 0) {
+                        prevBits = bits.read(64);
+                    } else if (bits.read(1) != 0) {
+                        if (bits.read(1) != 0) {
+                            leading = (int) bits.read(6);
+                            trailing = 64 - leading - ((int) bits.read(6) + 1);
+                        }
+                        prevBits ^= bits.read(64 - leading - trailing) << trailing;
+                    }
+                    visitor.onDouble(path, time, Double.longBitsToDouble(prevBits));
+                }
+                case LogColumn.LONG -> {
+                    prevLong += unzigzag(getVarLong(values));
+                    visitor.onLong(path, time, prevLong);
+                }
+                case LogColumn.BOOLEAN -> visitor.onBoolean(path, time, bits.read(1) != 0);
+                case LogColumn.STRING -> {
+                    int id = (int) getVarLong(values);
+                    String value = (id == 0) ? getString(values, (int) getVarLong(values)) : dictionary.get(id);
+                    if (value == null) throw new IOException("undefined string " + id + " in " + path);
+                    visitor.onString(path, time, value);
+                }
+                case LogColumn.RAW -> {
+                    long length = getVarLong(values);
+                    if (length == 0) {
+                        if (prevRaw == null) throw new IOException("repeated raw sample without a previous one in " + path);
+                    } else {
+                        prevRaw = new byte[(int) (length - 1)];
+                        values.get(prevRaw);
+                    }
+                    visitor.onRaw(path, time, prevRaw.clone());
+                }
+                default -> throw new IOException("unknown kind " + kind + " for " + path);
+            }
+        }
+    }
+
+    // ============================================================
+    //  PRIMITIVES
+    // ============================================================
+
+    /**
+     * Reads an MSB-first bit stream (the counterpart of {@code LogColumn.writeBits}).
+     */
+    private static final class BitReader {
+        private final ByteBuffer in;
+        private int current;
+        private int available = 0; // Unread bits of current
+
+        BitReader(ByteBuffer in) {
+            this.in = in;
+        }
+
+        /**
+         * @return The next {@code n} bits (0 to 64).
+         */
+        long read(int n) {
+            long result = 0;
+            while (n > 0) {
+                if (available == 0) {
+                    current = in.get() & 0xFF;
+                    available = 8;
+                }
+                int take = Math.min(available, n);
+                result = (result << take) | ((current >>> (available - take)) & ((1 << take) - 1));
+                available -= take;
+                n -= take;
+            }
+            return result;
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        if (length < 0 || length > in.remaining()) throw new BufferUnderflowException();
+        ByteBuffer slice = in.slice();
+        slice.limit(length);
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String getString(ByteBuffer in, int length) {
+        if (length < 0) throw new BufferUnderflowException();
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
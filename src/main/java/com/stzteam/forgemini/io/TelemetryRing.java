@@ -0,0 +1,162 @@
+package com.stzteam.forgemini.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer / single-consumer ring of telemetry samples.
+ * <p>
+ * The robot thread (producer) writes samples into preallocated parallel arrays; the
+ * publisher thread (consumer) drains them into NetworkTables. Nothing is allocated per sample
+ * and the producer never blocks: when the ring is full the {@link NetworkIO.DropPolicy} decides
+ * which sample is lost.
+ * </p>
+ * <p>
+ * Integers travel in their own {@code long} slot (bit-exact), and mutable values (structs, arrays)
+ * are copied as bytes into a per-slot buffer that is reused once it is large enough, so the
+ * caller may change them right after {@code set()}.
+ * </p>
+ * <p>
+ * With {@code DROP_OLDEST} the producer may advance {@code head} itself. Both sides move
+ * {@code head} with a CAS, and the consumer only keeps a slot it read if its CAS wins, so a
+ * slot overwritten mid-read is always discarded.
+ * </p>
+ */
+final class TelemetryRing {
+
+    private final int mask;
+    private final NetworkIO.StagedHandle[] handles;
+    private final double[] numbers;
+    private final long[] integers;
+    private final Object[] refs;
+    private final byte[][] bytes;
+    private final int[] lengths;    // Byte count of the sample, -1 = not a byte sample
+    private final long[] times;
+    private byte[] drained = new byte[64]; // Consumer copy of a byte sample
+    private final NetworkIO.DropPolicy policy;
+
+    private final AtomicLong head = new AtomicLong();   // Next slot to read (consumer)
+    private final AtomicLong tail = new AtomicLong();   // Next slot to write (producer)
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity The number of samples (rounded up to a power of two).
+     * @param policy What to do when the ring is full.
+     */
+    TelemetryRing(int capacity, NetworkIO.DropPolicy policy) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.handles = new NetworkIO.StagedHandle[size];
+        this.numbers = new double[size];
+        this.integers = new long[size];
+        this.refs = new Object[size];
+        this.bytes = new byte[size][];
+        this.lengths = new int[size];
+        this.times = new long[size];
+        this.policy = policy;
+    }
+
+    /**
+     * Enqueues a sample (producer thread only). Never blocks.
+     * @return False if the sample was dropped.
+     */
+    boolean offer(NetworkIO.StagedHandle handle, double number, long integer, Object ref, long time) {
+        long t = claim();
+        if (t < 0) return false;
+
+        int i = (int) (t & mask);
+        handles[i] = handle;
+        numbers[i] = number;
+        integers[i] = integer;
+        refs[i] = ref;
+        lengths[i] = -1;
+        times[i] = time;
+        tail.lazySet(t + 1); // Publishes the slot to the consumer
+        return true;
+    }
+
+    /**
+     * Enqueues a copy of {@code length} bytes of {@code source}, from index 0 (producer thread only).
+     * @return False if the sample was dropped.
+     */
+    boolean offerBytes(NetworkIO.StagedHandle handle, ByteBuffer source, int length, long time) {
+        long t = claim();
+        if (t < 0) return false;
+
+        int i = (int) (t & mask);
+        byte[] slot = bytes[i];
+        if (slot == null || slot.length < length) bytes[i] = slot = new byte[bucket(length)];
+        source.get(0, slot, 0, length);
+        handles[i] = handle;
+        refs[i] = null;
+        lengths[i] = length;
+        times[i] = time;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Reserves the next slot, applying the drop policy when the ring is full.
+     * @return The slot sequence number, or -1 if the sample must be dropped.
+     */
+    private long claim() {
+        long t = tail.get();
+        long h = head.get();
+        if (t - h > mask) {
+            if (policy == NetworkIO.DropPolicy.DROP_NEWEST) {
+                dropped.incrementAndGet();
+                return -1;
+            }
+            // DROP_OLDEST: if the CAS fails the consumer just freed the slot instead
+            if (head.compareAndSet(h, h + 1)) dropped.incrementAndGet();
+        }
+        return t;
+    }
+
+    /**
+     * Publishes every available sample (consumer thread only).
+     * @return The number of samples published.
+     */
+    int drain() {
+        int published = 0;
+        while (true) {
+            long h = head.get();
+            if (h >= tail.get()) return published;
+
+            int i = (int) (h & mask);
+            NetworkIO.StagedHandle handle = handles[i];
+            double number = numbers[i];
+            long integer = integers[i];
+            Object ref = refs[i];
+            int length = lengths[i];
+            long time = times[i];
+            if (length >= 0) {
+                // Copied before the CAS: once it wins, the producer may reuse the slot buffer
+                byte[] slot = bytes[i];
+                if (drained.length < length) drained = new byte[bucket(length)];
+                if (slot != null) System.arraycopy(slot, 0, drained, 0, Math.min(length, slot.length));
+            }
+
+            // Lost the race with a DROP_OLDEST producer: the slot may be torn, skip it
+            if (!head.compareAndSet(h, h + 1)) continue;
+
+            if (length >= 0) {
+                handle.publishBytes(drained, length, time);
+            } else {
+                handle.publishSample(number, integer, ref, time);
+            }
+            published++;
+        }
+    }
+
+    private static int bucket(int length) {
+        return Math.max(64, Integer.highestOneBit(Math.max(1, length - 1)) << 1);
+    }
+
+    /**
+     * @return The total number of samples dropped because the ring was full.
+     */
+    long droppedCount() {
+        return dropped.get();
+    }
+}
@@ -7,6 +7,11 @@ import java.lang.annotation.Target;
 
 /**
  * Marks a field to be updated from NetworkTables/Dashboard (Input).
+ * <p>
+ * Supported field types: {@code double}, {@code float}, {@code boolean}, {@code int}, {@code long},
+ * {@code String}, enums (published as the constant's name on a string topic) and {@code double[]}.
+ * Fields of other types are ignored.
+ * </p>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
@@ -16,4 +21,16 @@ public @interface Tunable {
      * @return The key name. If empty, uses the field name.
      */
     String key() default "";
+
+    /**
+     * The name of a no-argument method of the same class to call after this field changes.
+     * <p>
+     * Callbacks are coalesced: all tunable changes of a cycle are applied first, then each
+     * callback runs once, even if several of its fields changed (e.g. {@code kP}, {@code kI}
+     * and {@code kD} sharing {@code onChange = "applyPID"} reconfigure the controller once).
+     * It also runs once after registration if NetworkTables already held a value for the field.
+     * </p>
+     * @return The method name. If empty, no callback.
+     */
+    String onChange() default "";
 }
\ No newline at end of file
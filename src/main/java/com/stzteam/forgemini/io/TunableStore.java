@@ -0,0 +1,281 @@
+package com.stzteam.forgemini.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local snapshot of the last tuned value of every {@link Tunable}, so tuning survives reboots.
+ * <p>
+ * The file is read and parsed once when persistence is enabled; a tunable whose topic
+ * does not exist yet in NetworkTables starts from its snapshot value instead of the code default,
+ * before the first {@code periodic()} and without waiting for a dashboard.
+ * </p>
+ * <p>
+ * Every tunable change updates the in-memory snapshot; the file is rewritten on a background
+ * thread at most once per {@link #WRITE_DELAY_MS} (changes in between are coalesced): the temporary
+ * file is forced to disk before it atomically replaces the snapshot, so a power loss leaves either
+ * the old or the new snapshot, never a half-written one.
+ * </p>
+ * <h3>Format (big-endian):</h3>
+ * <pre>
+ * "FTUN" u8 version, u32 count, then per entry: u16 path length, path (UTF-8), u8 type, value
+ * DOUBLE: f64 | BOOLEAN: u8 | LONG: i64 | STRING: u32 length, UTF-8 | DOUBLE_ARRAY: u32 n, n x f64
+ * </pre>
+ */
+final class TunableStore {
+
+    private static final byte[] MAGIC = { 'F', 'T', 'U', 'N' };
+    private static final byte VERSION = 1;
+
+    private static final byte DOUBLE = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte LONG = 3;
+    private static final byte STRING = 4;
+    private static final byte DOUBLE_ARRAY = 5;
+
+    /** Minimum time between two snapshot writes. */
+    static final long WRITE_DELAY_MS = 500;
+
+    // Full tunable path ("Table/key") -> Double, Boolean, Long, String or double[]
+    private static final Map<String, Object> values = new ConcurrentHashMap<>();
+    private static final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+
+    private static volatile Path file = null; // null = persistence disabled
+    private static ScheduledExecutorService writer;
+
+    private TunableStore() {}
+
+    // ============================================================
+    //  LIFECYCLE
+    // ============================================================
+
+    /**
+     * Enables persistence and loads the snapshot at {@code path} (if it exists).
+     */
+    static synchronized void enable(String path) {
+        Path target = Paths.get(path);
+        if (target.equals(file)) return;
+        values.clear();
+        load(target);
+
+        if (writer == null) {
+            writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "ForgeMini-TunableStore");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            // A change made less than WRITE_DELAY_MS before shutdown must not be lost
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (writeScheduled.get()) write();
+            }, "ForgeMini-TunableStore-Shutdown"));
+        }
+        file = target; // Last: put() schedules on the writer as soon as this is set
+    }
+
+    static boolean isEnabled() {
+        return file != null;
+    }
+
+    // ============================================================
+    //  READ (registration)
+    // ============================================================
+
+    static double getDouble(String path, double defaultValue) {
+        Object value = values.get(path);
+        return value instanceof Double ? (Double) value : defaultValue;
+    }
+
+    static boolean getBoolean(String path, boolean defaultValue) {
+        Object value = values.get(path);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    static long getLong(String path, long defaultValue) {
+        Object value = values.get(path);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    static String getString(String path, String defaultValue) {
+        Object value = values.get(path);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    static double[] getDoubleArray(String path, double[] defaultValue) {
+        Object value = values.get(path);
+        return value instanceof double[] ? ((double[]) value).clone() : defaultValue;
+    }
+
+    // ============================================================
+    //  WRITE (tunable changes)
+    // ============================================================
+
+    /**
+     * Records a tuned value and schedules a snapshot write (no-op if persistence is disabled).
+     * <p>
+     * The primitive overloads only box once persistence is known to be enabled.
+     * </p>
+     */
+    static void put(String path, double value) {
+        if (file != null) store(path, value);
+    }
+
+    static void put(String path, boolean value) {
+        if (file != null) store(path, value);
+    }
+
+    static void put(String path, long value) {
+        if (file != null) store(path, value);
+    }
+
+    static void put(String path, String value) {
+        if (file != null) store(path, value);
+    }
+
+    /**
+     * @param value An array owned by the store (pass a copy).
+     */
+    static void put(String path, double[] value) {
+        if (file != null) store(path, value);
+    }
+
+    private static void store(String path, Object value) {
+        values.put(path, value);
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.schedule(TunableStore::write, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static synchronized void write() {
+        // Cleared first: a change during the write schedules the next one
+        writeScheduled.set(false);
+        Path target = file;
+        if (target == null) return;
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            Map<String, Object> snapshot = Map.copyOf(values);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+                byte[] path = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeShort(path.length);
+                out.write(path);
+                writeValue(out, entry.getValue());
+            }
+            out.flush();
+
+            // The temp file must be on disk before the rename, or a power loss right after it can
+            // leave the new name pointing to an empty file
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+                while (data.hasRemaining()) channel.write(data);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(target);
+        } catch (IOException e) {
+            System.err.println("[IOSubsystem] Could not save tunables: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes the rename itself durable (best effort: not every platform can open a directory).
+     */
+    private static void syncDirectory(Path target) {
+        Path dir = target.toAbsolutePath().getParent();
+        if (dir == null) return;
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {}
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof String) {
+            byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        } else {
+            double[] array = (double[]) value;
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(array.length);
+            for (double d : array) out.writeDouble(d);
+        }
+    }
+
+    // ============================================================
+    //  LOAD (startup)
+    // ============================================================
+
+    private static void load(Path target) {
+        if (!Files.isRegularFile(target)) return;
+
+        try {
+            // Read, not mapped: a mapping lives until GC and would block the atomic replace on Windows
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(target));
+            for (byte b : MAGIC) {
+                if (in.get() != b) throw new IOException("not a tunable snapshot");
+            }
+            if (in.get() != VERSION) throw new IOException("unsupported version");
+
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                String path = readString(in, in.getShort() & 0xFFFF);
+                byte type = in.get();
+                switch (type) {
+                    case DOUBLE -> values.put(path, in.getDouble());
+                    case BOOLEAN -> values.put(path, in.get() != 0);
+                    case LONG -> values.put(path, in.getLong());
+                    case STRING -> values.put(path, readString(in, in.getInt()));
+                    case DOUBLE_ARRAY -> {
+                        double[] array = new double[in.getInt()];
+                        for (int j = 0; j < array.length; j++) array[j] = in.getDouble();
+                        values.put(path, array);
+                    }
+                    default -> throw new IOException("unknown type " + type);
+                }
+            }
+            System.out.println("[IOSubsystem] Restored " + values.size() + " tunables from " + target.getFileName());
+        } catch (IOException | BufferUnderflowException | NegativeArraySizeException e) {
+            // A damaged snapshot only costs the tuned values: start from the code defaults
+            values.clear();
+            System.err.println("[IOSubsystem] Ignoring tunable snapshot " + target + ": " + e);
+        }
+    }
+
+    private static String readString(ByteBuffer in, int length) {
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.stzteam.forgemini;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LoopHistogramTest {
+
+    private static final double[] P50_P95_P99 = { 50, 95, 99 };
+
+    private static long[] percentiles(LoopHistogram histogram, double... percentiles) {
+        long[] out = new long[percentiles.length];
+        histogram.percentiles(percentiles, out);
+        return out;
+    }
+
+    @Test
+    void emptyHistogramReportsZeros() {
+        LoopHistogram histogram = new LoopHistogram();
+        assertArrayEquals(new long[] { 0, 0, 0 }, percentiles(histogram, P50_P95_P99));
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LoopHistogram histogram = new LoopHistogram();
+        for (long us = 1; us <= 100; us++) histogram.record(us);
+
+        assertArrayEquals(new long[] { 50, 95, 99 }, percentiles(histogram, P50_P95_P99));
+        assertEquals(100, histogram.count());
+        assertEquals(100, histogram.max());
+        assertArrayEquals(new long[] { 1, 100 }, percentiles(histogram, 0, 100));
+    }
+
+    @Test
+    void largeValuesStayWithinBucketPrecision() {
+        LoopHistogram histogram = new LoopHistogram();
+        long[] values = { 200, 1_000, 20_000, 45_678, 1_000_000 };
+        for (long value : values) {
+            histogram.reset();
+            histogram.record(value);
+            histogram.record(value + 1); // max() caps the report; keep it above the sample under test
+            histogram.record(10 * value);
+            long reported = percentiles(histogram, 50)[0];
+            assertTrue(reported >= value + 1 && reported <= (value + 1) * 1.016,
+                value + " reported as " + reported);
+        }
+    }
+
+    @Test
+    void percentilesNeverExceedTheExactMax() {
+        LoopHistogram histogram = new LoopHistogram();
+        histogram.record(20_001);
+        assertArrayEquals(new long[] { 20_001, 20_001, 20_001 }, percentiles(histogram, P50_P95_P99));
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        LoopHistogram histogram = new LoopHistogram();
+        histogram.record(-5);
+        assertArrayEquals(new long[] { 0 }, percentiles(histogram, 100));
+        assertEquals(0, histogram.max());
+
+        histogram.record(60_000_000); // 60s: beyond the ~16.7s range
+        assertEquals(60_000_000, histogram.max());
+        long top = percentiles(histogram, 100)[0];
+        assertTrue(top >= 16_000_000 && top <= 60_000_000, "clamped to " + top);
+        assertEquals(2, histogram.count());
+    }
+
+    @Test
+    void resetClearsEverything() {
+        LoopHistogram histogram = new LoopHistogram();
+        for (int i = 0; i < 1000; i++) histogram.record(i * 37L);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+
+        histogram.record(7);
+        assertArrayEquals(new long[] { 7, 7, 7 }, percentiles(histogram, P50_P95_P99));
+    }
+}
@@ -0,0 +1,241 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round-trips {@link LogColumn} chunks through {@link TelemetryLogReader}.
+ */
+class LogColumnTest {
+
+    private final ByteBuffer file = ByteBuffer.allocate(4 * 1024 * 1024);
+    private final List<Long> times = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    private final TelemetryLogReader.Visitor collector = new TelemetryLogReader.Visitor() {
+        @Override
+        public void onDouble(String path, long time, double value) {
+            collect(time, Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public void onLong(String path, long time, long value) {
+            collect(time, value);
+        }
+
+        @Override
+        public void onBoolean(String path, long time, boolean value) {
+            collect(time, value);
+        }
+
+        @Override
+        public void onString(String path, long time, String value) {
+            collect(time, value);
+        }
+
+        @Override
+        public void onRaw(String path, long time, byte[] value) {
+            collect(time, ByteBuffer.wrap(value));
+        }
+    };
+
+    private void collect(long time, Object value) {
+        times.add(time);
+        values.add(value);
+    }
+
+    /** Writes the file header and defines {@code column} as id 0, like TelemetryLog does. */
+    private LogColumn define(byte kind) {
+        LogColumn column = new LogColumn("Test/value", kind);
+        column.reset(0, 0);
+        file.put(TelemetryLog.HEADER);
+        file.put(TelemetryLog.BLOCK_COLUMN);
+        LogColumn.putVarLong(file, column.id);
+        file.put(kind);
+        byte[] name = LogColumn.utf8(column.path);
+        LogColumn.putVarLong(file, name.length);
+        file.put(name);
+        return column;
+    }
+
+    /** Cuts the chunk exactly like the writer: before a sample that might not fit. */
+    private void prepare(LogColumn column, long time, int extraBytes) {
+        if (column.isFull(time, extraBytes)) writeChunk(column);
+    }
+
+    private void writeChunk(LogColumn column) {
+        int size = column.encodedSize();
+        ByteBuffer reserved = file.slice();
+        reserved.limit(size);
+        column.writeChunk(reserved);
+        file.position(file.position() + reserved.position());
+    }
+
+    private boolean decode() throws IOException {
+        file.flip();
+        return TelemetryLogReader.read(file, collector);
+    }
+
+    @Test
+    void adversarialDoublesRoundTripBitExact() throws IOException {
+        LogColumn column = define(LogColumn.DOUBLE);
+        Random random = new Random(42);
+        long[] expected = new long[20_000];
+        for (int i = 0; i < expected.length; i++) {
+            // Random sign, exponent and mantissa (NaN payloads included): every XOR is ~64 bits wide
+            long bits = random.nextLong();
+            if (i % 7 == 0) bits = Double.doubleToRawLongBits(i * 0.5); // Some narrow XORs between
+            expected[i] = bits;
+            long time = i * 100L; // Dense enough that the value stream, not the chunk age, cuts chunks
+            prepare(column, time, 0);
+            column.addDouble(time, Double.longBitsToDouble(bits));
+        }
+        writeChunk(column);
+
+        assertTrue(decode());
+        assertEquals(expected.length, values.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], (long) (Long) values.get(i), "sample " + i);
+            assertEquals(i * 100L, (long) times.get(i));
+        }
+    }
+
+    @Test
+    void worstCaseDoubleSamplesAtEveryBitPhase() throws IOException {
+        // XOR windows alternate between (leading 0, trailing 1) and (leading 1, trailing 0), so every
+        // sample is a 77-bit "new window" one; k repeated values shift the bit phase of each round,
+        // so some chunk takes its last sample with two words to complete and bits left pending.
+        LogColumn column = define(LogColumn.DOUBLE);
+        Random random = new Random(1);
+        List<Long> expected = new ArrayList<>();
+        long time = 0;
+        for (int k = 0; k < 64; k++) {
+            long bits = random.nextLong();
+            for (int i = 0; i < 1000; i++) {
+                if (i > k) {
+                    long noise = random.nextLong();
+                    if (i % 2 == 0) bits ^= (noise & 0x7FFF_FFFF_FFFF_FFFCL) | 0x8000_0000_0000_0002L;
+                    else bits ^= (noise & 0x3FFF_FFFF_FFFF_FFFEL) | 0x4000_0000_0000_0001L;
+                }
+                expected.add(bits);
+                prepare(column, time, 0);
+                column.addDouble(time++, Double.longBitsToDouble(bits));
+            }
+            writeChunk(column);
+        }
+
+        assertTrue(decode());
+        assertEquals(expected, values);
+    }
+
+    @Test
+    void repeatedAndSlowlyChangingDoubles() throws IOException {
+        LogColumn column = define(LogColumn.DOUBLE);
+        double[] expected = { 1.0, 1.0, 1.5, -1.5, 0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, 3.25, 3.25 };
+        for (int i = 0; i < expected.length; i++) {
+            column.addDouble(100 + i, expected[i]);
+        }
+        writeChunk(column);
+
+        assertTrue(decode());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(expected[i]), (long) (Long) values.get(i));
+        }
+    }
+
+    @Test
+    void longsBooleansAndTimeDeltas() throws IOException {
+        LogColumn longs = define(LogColumn.LONG);
+        long[] expected = { 0, Long.MAX_VALUE, Long.MIN_VALUE, -1, 42, 42 };
+        long[] stamps = { 5_000_000, 4_999_000, 5_020_000, 5_020_000, 6_000_001, 9_000_000 };
+        for (int i = 0; i < expected.length; i++) {
+            prepare(longs, stamps[i], 0);
+            longs.addLong(stamps[i], expected[i]);
+        }
+        writeChunk(longs);
+
+        assertTrue(decode());
+        long[] decoded = new long[values.size()];
+        for (int i = 0; i < decoded.length; i++) decoded[i] = (Long) values.get(i);
+        assertArrayEquals(expected, decoded);
+        for (int i = 0; i < stamps.length; i++) assertEquals(stamps[i], (long) times.get(i));
+    }
+
+    @Test
+    void booleans() throws IOException {
+        LogColumn column = define(LogColumn.BOOLEAN);
+        for (int i = 0; i < 3000; i++) {
+            prepare(column, i, 0);
+            column.addBoolean(i, i % 3 == 0);
+        }
+        writeChunk(column);
+
+        assertTrue(decode());
+        assertEquals(3000, values.size());
+        for (int i = 0; i < 3000; i++) assertEquals(i % 3 == 0, values.get(i));
+    }
+
+    @Test
+    void dictionaryAndInlineStrings() throws IOException {
+        LogColumn column = define(LogColumn.STRING);
+        byte[] idle = LogColumn.utf8("IDLE");
+        file.put(TelemetryLog.BLOCK_STRING);
+        LogColumn.putVarLong(file, 1);
+        LogColumn.putVarLong(file, idle.length);
+        file.put(idle);
+
+        column.addString(1, 1, null);
+        column.addString(2, 0, LogColumn.utf8("SHOOTING \u00e9"));
+        column.addString(3, 1, null);
+        writeChunk(column);
+
+        assertTrue(decode());
+        assertEquals(List.of("IDLE", "SHOOTING \u00e9", "IDLE"), values);
+    }
+
+    @Test
+    void rawRepeatsAndOversizedSamples() throws IOException {
+        LogColumn column = define(LogColumn.RAW);
+        byte[] small = { 1, 2, 3 };
+        byte[] large = new byte[20_000]; // Larger than the value stream: it must grow
+        new Random(7).nextBytes(large);
+
+        prepare(column, 0, small.length);
+        column.addRaw(0, small, 0, small.length);
+        prepare(column, 1, small.length);
+        column.addRaw(1, small, 0, small.length);
+        prepare(column, 2, large.length);
+        column.addRaw(2, large, 0, large.length);
+        writeChunk(column);
+
+        assertTrue(decode());
+        assertEquals(ByteBuffer.wrap(small), values.get(0));
+        assertEquals(ByteBuffer.wrap(small), values.get(1));
+        assertEquals(ByteBuffer.wrap(large), values.get(2));
+    }
+
+    @Test
+    void truncatedFileKeepsCompleteChunks() throws IOException {
+        LogColumn column = define(LogColumn.LONG);
+        for (int i = 0; i < 10; i++) column.addLong(i, i);
+        writeChunk(column);
+        int complete = file.position();
+        for (int i = 10; i < 20; i++) column.addLong(i, i);
+        writeChunk(column);
+
+        file.position(file.position() - 3); // Power loss in the middle of the second chunk
+        assertFalse(decode());
+        assertEquals(10, values.size());
+        assertTrue(complete > 0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LogFileTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("logfile");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void appendsAcrossWindowsAndTruncatesOnClose() throws IOException {
+        Path path = dir.resolve("test.flog");
+        Random random = new Random(3);
+        ByteBuffer expected = ByteBuffer.allocate(8 * 1024 * 1024);
+
+        try (LogFile file = new LogFile(path)) {
+            while (expected.position() < 4 * 1024 * 1024) {
+                // Mostly small blocks, sometimes one larger than a window
+                byte[] block = new byte[random.nextInt(10) == 0 ? 1_200_000 : 1 + random.nextInt(5000)];
+                random.nextBytes(block);
+                file.reserve(block.length).put(block);
+                expected.put(block);
+                assertEquals(expected.position(), file.size());
+                if (random.nextInt(50) == 0) file.sync();
+            }
+        }
+
+        byte[] written = Files.readAllBytes(path);
+        assertEquals(expected.position(), written.length);
+        byte[] prefix = new byte[written.length];
+        expected.flip().get(prefix);
+        assertArrayEquals(prefix, written);
+    }
+
+    @Test
+    void readerStopsAtTheUnusedEndOfTheWindow() throws IOException {
+        // Layout of a log whose mapped window was never truncated (power loss, or Windows)
+        ByteBuffer log = ByteBuffer.allocate(4096);
+        log.put(TelemetryLog.HEADER);
+        LogColumn column = new LogColumn("Test/value", LogColumn.LONG);
+        column.reset(0, 0);
+        log.put(TelemetryLog.BLOCK_COLUMN);
+        LogColumn.putVarLong(log, column.id);
+        log.put(LogColumn.LONG);
+        byte[] name = LogColumn.utf8(column.path);
+        LogColumn.putVarLong(log, name.length);
+        log.put(name);
+        for (int i = 0; i < 5; i++) column.addLong(i, i * 10L);
+        ByteBuffer chunk = log.slice();
+        chunk.limit(column.encodedSize());
+        column.writeChunk(chunk);
+        log.position(log.capacity()).flip(); // Zeros up to the end
+
+        List<Long> values = new ArrayList<>();
+        assertTrue(TelemetryLogReader.read(log, new TelemetryLogReader.Visitor() {
+            @Override
+            public void onLong(String path, long time, long value) {
+                values.add(value);
+            }
+        }));
+        assertEquals(List.of(0L, 10L, 20L, 30L, 40L), values);
+    }
+}
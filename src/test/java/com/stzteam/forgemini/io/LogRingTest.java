@@ -0,0 +1,74 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Capacity and arena accounting of {@link LogRing}. With no log file open, draining only frees
+ * the records (encoding is a no-op).
+ */
+class LogRingTest {
+
+    private final LogColumn doubles = new LogColumn("Test/double", LogColumn.DOUBLE);
+    private final LogColumn raws = new LogColumn("Test/raw", LogColumn.RAW);
+
+    @Test
+    void fullRingDropsAndCountsRecords() {
+        LogRing ring = new LogRing(4, 1024);
+        for (int i = 0; i < 4; i++) assertTrue(ring.offer(doubles, i, null, i));
+        assertFalse(ring.offer(doubles, 4, null, 4));
+        assertEquals(1, ring.overflowCount());
+
+        assertFalse(ring.isEmpty());
+        assertEquals(4, ring.drain());
+        assertTrue(ring.isEmpty());
+        assertTrue(ring.offer(doubles, 5, null, 5));
+    }
+
+    @Test
+    void arenaIsReusedCircularly() {
+        LogRing ring = new LogRing(64, 1024);
+        ByteBuffer payload = ByteBuffer.allocate(600);
+
+        assertTrue(ring.offerRaw(raws, payload, 600, 0));
+        // Does not fit behind the first payload, and the start of the arena is still in use
+        assertFalse(ring.offerRaw(raws, payload, 600, 1));
+        assertEquals(1, ring.overflowCount());
+
+        assertEquals(1, ring.drain());
+        // The tail of the arena is skipped and the payload wraps to the freed start
+        assertTrue(ring.offerRaw(raws, payload, 600, 2));
+        assertEquals(1, ring.drain());
+
+        assertTrue(ring.offerRaw(raws, payload, 400, 3));  // Arena bytes [600, 1000)
+        assertTrue(ring.offerRaw(raws, payload, 400, 4));  // Wraps again: [0, 400)
+        assertFalse(ring.offerRaw(raws, payload, 400, 5)); // Would overwrite the undrained payload
+        assertEquals(2, ring.overflowCount());
+        assertEquals(2, ring.drain());
+    }
+
+    @Test
+    void payloadLargerThanArenaIsDropped() {
+        LogRing ring = new LogRing(8, 1024);
+        assertFalse(ring.offerRaw(raws, ByteBuffer.allocate(2048), 2048, 0));
+        assertEquals(1, ring.overflowCount());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void mixedRecordsDrainTogether() {
+        LogRing ring = new LogRing(16, 1024);
+        ByteBuffer payload = ByteBuffer.allocate(16);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ring.offer(doubles, Double.doubleToRawLongBits(i), null, i));
+            assertTrue(ring.offerRaw(raws, payload, 16, i));
+        }
+        assertEquals(10, ring.drain());
+        assertEquals(0, ring.overflowCount());
+    }
+}
@@ -0,0 +1,73 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SignalGateTest {
+
+    private static final long MS = 1_000_000L;
+
+    // Fake nanoTime
+    private final long[] now = new long[1];
+
+    @Test
+    void untimedGatePublishesFirstValueThenChangesOnly() {
+        SignalGate gate = new SignalGate(TestSignals.signal(1, 0, 0, 0), () -> now[0]);
+        assertTrue(gate.isFirst());
+        assertTrue(gate.shouldPublish(false));
+        gate.published();
+
+        assertFalse(gate.isFirst());
+        assertFalse(gate.shouldPublish(false));
+        assertTrue(gate.shouldPublish(true));
+    }
+
+    @Test
+    void minPeriodHoldsChangesBack() {
+        SignalGate gate = new SignalGate(TestSignals.signal(1, 0, 100, 0), () -> now[0]);
+        assertTrue(gate.shouldPublish(true));
+        gate.published();
+
+        now[0] += 99 * MS;
+        assertFalse(gate.shouldPublish(true));
+        now[0] += MS;
+        assertTrue(gate.shouldPublish(true));
+        gate.published();
+
+        now[0] += 1000 * MS;
+        assertFalse(gate.shouldPublish(false)); // No heartbeat: unchanged values stay quiet
+    }
+
+    @Test
+    void heartbeatRepublishesUnchangedValue() {
+        SignalGate gate = new SignalGate(TestSignals.signal(1, 0, 0, 50), () -> now[0]);
+        assertTrue(gate.shouldPublish(false));
+        gate.published();
+
+        now[0] += 49 * MS;
+        assertFalse(gate.shouldPublish(false));
+        assertTrue(gate.shouldPublish(true)); // No minimum period: changes go out at once
+        now[0] += MS;
+        assertTrue(gate.shouldPublish(false));
+        gate.published();
+        assertFalse(gate.shouldPublish(false));
+    }
+
+    @Test
+    void heartbeatIsMeasuredFromTheLastPublish() {
+        SignalGate gate = new SignalGate(TestSignals.signal(1, 0, 20, 50), () -> now[0]);
+        assertTrue(gate.shouldPublish(true));
+        gate.published();
+
+        now[0] += 30 * MS;
+        assertTrue(gate.shouldPublish(true));
+        gate.published();
+
+        now[0] += 40 * MS; // 70 ms since the first publish, 40 ms since the last one
+        assertFalse(gate.shouldPublish(false));
+        now[0] += 10 * MS;
+        assertTrue(gate.shouldPublish(false));
+    }
+}
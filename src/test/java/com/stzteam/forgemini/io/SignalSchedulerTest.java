@@ -0,0 +1,123 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SignalSchedulerTest {
+
+    // Fake nanoTime: a signal "takes" as long as it advances this
+    private final long[] now = new long[1];
+
+    @BeforeEach
+    void useFakeClock() {
+        SignalScheduler.reset();
+        SignalScheduler.setClock(() -> now[0]);
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        SignalScheduler.reset();
+    }
+
+    @Test
+    void equalSlowScalesAreStaggered() {
+        int period = 10;
+        SignalScheduler.Queue queue = new SignalScheduler.Queue();
+        int[] runs = new int[period];
+        int[] perCycle = new int[1];
+        for (int i = 0; i < period; i++) {
+            int index = i;
+            queue.add(() -> { runs[index]++; perCycle[0]++; }, TestSignals.signal(period, 0, 0, 0));
+        }
+
+        for (int cycle = 0; cycle < period * 3; cycle++) {
+            perCycle[0] = 0;
+            queue.run();
+            assertEquals(1, perCycle[0], "signals due in cycle " + cycle);
+        }
+        for (int count : runs) assertEquals(3, count);
+    }
+
+    @Test
+    void phasesAreSharedAcrossSubsystems() {
+        SignalScheduler.Queue first = new SignalScheduler.Queue();
+        SignalScheduler.Queue second = new SignalScheduler.Queue();
+        int[] runs = new int[2];
+        first.add(() -> runs[0]++, TestSignals.signal(2, 0, 0, 0));
+        second.add(() -> runs[1]++, TestSignals.signal(2, 0, 0, 0));
+
+        first.run();
+        second.run();
+        assertEquals(1, runs[0] + runs[1]); // Different phases: only one fires per cycle
+        first.run();
+        second.run();
+        assertEquals(1, runs[0]);
+        assertEquals(1, runs[1]);
+    }
+
+    @Test
+    void fullRateSignalsRunEveryCycle() {
+        SignalScheduler.Queue queue = new SignalScheduler.Queue();
+        int[] runs = new int[1];
+        queue.add(() -> runs[0]++, TestSignals.signal(1, 0, 0, 0));
+        for (int cycle = 0; cycle < 10; cycle++) queue.run();
+        assertEquals(10, runs[0]);
+    }
+
+    @Test
+    void nothingIsDeferredWithinBudget() {
+        SignalScheduler.setBudget(100);
+        SignalScheduler.Queue queue = new SignalScheduler.Queue();
+        int[] runs = new int[1];
+        for (int i = 0; i < 3; i++) {
+            queue.add(() -> { runs[0]++; now[0] += 20_000; }, TestSignals.signal(1, 0, 0, 0));
+        }
+        for (int cycle = 0; cycle < 10; cycle++) queue.run();
+
+        assertEquals(30, runs[0]);
+        assertEquals(0, SignalScheduler.deferredCount());
+    }
+
+    @Test
+    void budgetDefersLowPriorityButNeverProtectedOnes() {
+        SignalScheduler.setBudget(1); // 1us: exhausted by the first signal of every loop
+        SignalScheduler.setProtectedPriority(1);
+        SignalScheduler.Queue queue = new SignalScheduler.Queue();
+        int[] runs = new int[3];
+        queue.add(() -> { runs[0]++; now[0] += 20_000; }, TestSignals.signal(1, 1, 0, 0)); // Protected
+        queue.add(() -> { runs[1]++; now[0] += 20_000; }, TestSignals.signal(1, 0, 0, 0));
+        queue.add(() -> { runs[2]++; now[0] += 20_000; }, TestSignals.signal(1, 0, 0, 0));
+
+        int cycles = 40;
+        for (int cycle = 0; cycle < cycles; cycle++) queue.run();
+
+        assertEquals(cycles, runs[0]);
+        // Cycle 0 defers both; afterwards the one deferred last cycle goes first, so they alternate
+        assertEquals(20, runs[1]);
+        assertEquals(19, runs[2]);
+        assertEquals(2 + (cycles - 1), SignalScheduler.deferredCount());
+    }
+
+    @Test
+    void deferralsAreBounded() {
+        SignalScheduler.setBudget(1);
+        SignalScheduler.setProtectedPriority(10);
+        // One subsystem always exhausts the budget before the other one runs
+        SignalScheduler.Queue busy = new SignalScheduler.Queue();
+        SignalScheduler.Queue starved = new SignalScheduler.Queue();
+        int[] runs = new int[1];
+        busy.add(() -> now[0] += 20_000, TestSignals.signal(1, 10, 0, 0));
+        starved.add(() -> runs[0]++, TestSignals.signal(1, 0, 0, 0));
+
+        int cycles = (SignalScheduler.MAX_DEFERRALS + 1) * 3;
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            busy.run();
+            starved.run();
+        }
+        assertEquals(3, runs[0]);
+        assertEquals(SignalScheduler.MAX_DEFERRALS * 3, SignalScheduler.deferredCount());
+    }
+}
@@ -0,0 +1,140 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class TelemetryRingTest {
+
+    /** Records what the ring publishes. */
+    private static final class Recorder extends NetworkIO.StagedHandle {
+        final List<Long> integers = new ArrayList<>();
+        final List<Double> numbers = new ArrayList<>();
+        final List<Object> refs = new ArrayList<>();
+        final List<byte[]> bytes = new ArrayList<>();
+        volatile String torn;
+
+        @Override
+        void publishStaged(long time) {}
+
+        @Override
+        void publishSample(double number, long integer, Object ref, long time) {
+            // Every test sample carries the same sequence number in all three slots
+            if (number != integer || time != integer) torn = number + " / " + integer + " / " + time;
+            numbers.add(number);
+            integers.add(integer);
+            refs.add(ref);
+        }
+
+        @Override
+        void publishBytes(byte[] value, int length, long time) {
+            bytes.add(Arrays.copyOf(value, length));
+        }
+    }
+
+    private static void offer(TelemetryRing ring, Recorder handle, long sequence) {
+        ring.offer(handle, sequence, sequence, null, sequence);
+    }
+
+    @Test
+    void drainsInOrderWithExactIntegers() {
+        TelemetryRing ring = new TelemetryRing(8, NetworkIO.DropPolicy.DROP_NEWEST);
+        Recorder handle = new Recorder();
+        long nanPattern = 0x7FF0_0000_0000_0001L; // A signaling NaN if it went through a double
+
+        assertTrue(ring.offer(handle, 1.5, nanPattern, "a", 10));
+        assertTrue(ring.offer(handle, -2, Long.MIN_VALUE, null, 11));
+        assertEquals(2, ring.drain());
+        assertEquals(0, ring.drain());
+
+        assertEquals(List.of(1.5, -2.0), handle.numbers);
+        assertEquals(List.of(nanPattern, Long.MIN_VALUE), handle.integers);
+        assertEquals(Arrays.asList("a", null), handle.refs);
+    }
+
+    @Test
+    void byteSamplesAreCopiedAtOffer() {
+        TelemetryRing ring = new TelemetryRing(4, NetworkIO.DropPolicy.DROP_NEWEST);
+        Recorder handle = new Recorder();
+        ByteBuffer packed = ByteBuffer.allocateDirect(300);
+        for (int i = 0; i < 300; i++) packed.put(i, (byte) i);
+
+        ring.offerBytes(handle, packed, 3, 0);
+        ring.offerBytes(handle, packed, 300, 1); // Larger than the initial slot buffer
+        packed.put(0, (byte) 99);                 // The caller reuses its buffer right away
+        ring.drain();
+
+        assertArrayEquals(new byte[] { 0, 1, 2 }, handle.bytes.get(0));
+        assertEquals(300, handle.bytes.get(1).length);
+        assertEquals(0, handle.bytes.get(1)[0]);
+        assertEquals((byte) 299, handle.bytes.get(1)[299]);
+    }
+
+    @Test
+    void dropNewestKeepsTheOldestSamples() {
+        TelemetryRing ring = new TelemetryRing(4, NetworkIO.DropPolicy.DROP_NEWEST);
+        Recorder handle = new Recorder();
+        for (long i = 0; i < 6; i++) offer(ring, handle, i);
+        ring.drain();
+
+        assertEquals(List.of(0L, 1L, 2L, 3L), handle.integers);
+        assertEquals(2, ring.droppedCount());
+    }
+
+    @Test
+    void dropOldestKeepsTheFreshestSamples() {
+        TelemetryRing ring = new TelemetryRing(4, NetworkIO.DropPolicy.DROP_OLDEST);
+        Recorder handle = new Recorder();
+        for (long i = 0; i < 6; i++) offer(ring, handle, i);
+        ring.drain();
+
+        assertEquals(List.of(2L, 3L, 4L, 5L), handle.integers);
+        assertEquals(2, ring.droppedCount());
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        TelemetryRing ring = new TelemetryRing(5, NetworkIO.DropPolicy.DROP_NEWEST);
+        Recorder handle = new Recorder();
+        for (long i = 0; i < 8; i++) offer(ring, handle, i);
+        assertEquals(0, ring.droppedCount());
+        offer(ring, handle, 8);
+        assertEquals(1, ring.droppedCount());
+    }
+
+    @Test
+    void dropOldestRaceNeverPublishesTornOrDuplicateSamples() throws InterruptedException {
+        TelemetryRing ring = new TelemetryRing(8, NetworkIO.DropPolicy.DROP_OLDEST);
+        Recorder handle = new Recorder();
+        AtomicBoolean done = new AtomicBoolean(false);
+        long samples = 2_000_000;
+
+        Thread consumer = new Thread(() -> {
+            while (!done.get()) ring.drain();
+            ring.drain();
+        });
+        consumer.start();
+        for (long i = 0; i < samples; i++) offer(ring, handle, i);
+        done.set(true);
+        consumer.join();
+
+        assertEquals(null, handle.torn);
+        long previous = -1;
+        for (long sequence : handle.integers) {
+            assertTrue(sequence > previous, "out of order or duplicate: " + sequence + " after " + previous);
+            previous = sequence;
+        }
+        assertEquals(samples - 1, previous); // The freshest sample always survives
+        assertEquals(samples, handle.integers.size() + ring.droppedCount());
+        assertFalse(handle.integers.isEmpty());
+    }
+}
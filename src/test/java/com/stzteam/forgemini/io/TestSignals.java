@@ -0,0 +1,25 @@
+package com.stzteam.forgemini.io;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Builds {@link Signal} configurations for scheduler and gate tests.
+ */
+final class TestSignals {
+
+    private TestSignals() {}
+
+    static Signal signal(int slowScale, int priority, long minPeriodMs, long heartbeatMs) {
+        return new Signal() {
+            @Override public Class<? extends Annotation> annotationType() { return Signal.class; }
+            @Override public String key() { return ""; }
+            @Override public boolean onChange() { return true; }
+            @Override public int slowScale() { return slowScale; }
+            @Override public double deadband() { return 1e-5; }
+            @Override public double relativeDeadband() { return 0; }
+            @Override public long minPeriodMs() { return minPeriodMs; }
+            @Override public long heartbeatMs() { return heartbeatMs; }
+            @Override public int priority() { return priority; }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.stzteam.forgemini.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The on-disk format of {@link TunableStore} (see its class doc). The store is global, so every
+ * test uses its own file.
+ */
+class TunableStoreTest {
+
+    private static Path newFile() throws IOException {
+        return Files.createTempDirectory("forge-tunables").resolve("tunables.bin");
+    }
+
+    private static void writeHeader(DataOutputStream out, int count) throws IOException {
+        out.write(new byte[] { 'F', 'T', 'U', 'N' });
+        out.writeByte(1);
+        out.writeInt(count);
+    }
+
+    private static void writePath(DataOutputStream out, String path) throws IOException {
+        byte[] utf8 = path.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    @Test
+    void loadsEveryValueType() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, 5);
+        writePath(out, "Shooter/kP");
+        out.writeByte(1);
+        out.writeDouble(0.25);
+        writePath(out, "Shooter/enabled");
+        out.writeByte(2);
+        out.writeBoolean(true);
+        writePath(out, "Shooter/rpm");
+        out.writeByte(3);
+        out.writeLong(-4_000_000_000L);
+        writePath(out, "Shooter/mode");
+        byte[] mode = "SPIN\u00e9".getBytes(StandardCharsets.UTF_8);
+        out.writeByte(4);
+        out.writeInt(mode.length);
+        out.write(mode);
+        writePath(out, "Shooter/table");
+        out.writeByte(5);
+        out.writeInt(2);
+        out.writeDouble(1.5);
+        out.writeDouble(-2.5);
+
+        Path file = newFile();
+        Files.write(file, bytes.toByteArray());
+        TunableStore.enable(file.toString());
+
+        assertEquals(0.25, TunableStore.getDouble("Shooter/kP", 0));
+        assertTrue(TunableStore.getBoolean("Shooter/enabled", false));
+        assertEquals(-4_000_000_000L, TunableStore.getLong("Shooter/rpm", 0));
+        assertEquals("SPIN\u00e9", TunableStore.getString("Shooter/mode", ""));
+        assertArrayEquals(new double[] { 1.5, -2.5 }, TunableStore.getDoubleArray("Shooter/table", null));
+        // Wrong type or unknown path: the code default wins
+        assertEquals(7.0, TunableStore.getDouble("Shooter/rpm", 7.0));
+        assertEquals(3.0, TunableStore.getDouble("Shooter/missing", 3.0));
+    }
+
+    @Test
+    void damagedSnapshotFallsBackToDefaults() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, 2);
+        writePath(out, "Arm/kP");
+        out.writeByte(1);
+        out.writeDouble(0.5);
+        writePath(out, "Arm/kD");
+        out.writeByte(1); // Truncated: the value is missing
+
+        Path file = newFile();
+        Files.write(file, bytes.toByteArray());
+        TunableStore.enable(file.toString());
+
+        assertEquals(1.0, TunableStore.getDouble("Arm/kP", 1.0));
+    }
+
+    @Test
+    void writesSnapshotInTheDocumentedFormat() throws Exception {
+        Path file = newFile();
+        TunableStore.enable(file.toString());
+        TunableStore.put("Elevator/kP", 0.125);
+        TunableStore.put("Elevator/homed", false);
+        TunableStore.put("Elevator/ticks", 42L);
+        TunableStore.put("Elevator/name", "left");
+        TunableStore.put("Elevator/setpoints", new double[] { 0.5, 1.0 });
+
+        long deadline = System.currentTimeMillis() + 10 * TunableStore.WRITE_DELAY_MS;
+        while (!Files.exists(file) && System.currentTimeMillis() < deadline) Thread.sleep(20);
+        assertTrue(Files.exists(file), "snapshot written");
+
+        Map<String, Object> entries = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] magic = new byte[4];
+            in.readFully(magic);
+            assertEquals("FTUN", new String(magic, StandardCharsets.US_ASCII));
+            assertEquals(1, in.readByte());
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] path = new byte[in.readUnsignedShort()];
+                in.readFully(path);
+                Object value;
+                switch (in.readByte()) {
+                    case 1 -> value = in.readDouble();
+                    case 2 -> value = in.readBoolean();
+                    case 3 -> value = in.readLong();
+                    case 4 -> {
+                        byte[] utf8 = new byte[in.readInt()];
+                        in.readFully(utf8);
+                        value = new String(utf8, StandardCharsets.UTF_8);
+                    }
+                    case 5 -> {
+                        double[] array = new double[in.readInt()];
+                        for (int j = 0; j < array.length; j++) array[j] = in.readDouble();
+                        value = array;
+                    }
+                    default -> throw new AssertionError("unknown type");
+                }
+                entries.put(new String(path, StandardCharsets.UTF_8), value);
+            }
+            assertEquals(-1, in.read());
+        }
+
+        assertEquals(5, entries.size());
+        assertEquals(0.125, entries.get("Elevator/kP"));
+        assertEquals(false, entries.get("Elevator/homed"));
+        assertEquals(42L, entries.get("Elevator/ticks"));
+        assertEquals("left", entries.get("Elevator/name"));
+        assertArrayEquals(new double[] { 0.5, 1.0 }, (double[]) entries.get("Elevator/setpoints"));
+        assertTrue(!Files.exists(file.resolveSibling(file.getFileName() + ".tmp")), "temp file moved");
+    }
+}